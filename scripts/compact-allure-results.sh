@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Сжатие каталога результатов Allure: по zip-архиву на прогон и индекс index.jsonl в каталоге архива.
+# Если установлен allure CLI, замеряет время allure generate до сжатия и после развертывания тех же прогонов из архива.
+# Использование: scripts/compact-allure-results.sh [results=allure-results] [archive=.allure-archive] [доп. параметры compact...]
+#   например: scripts/compact-allure-results.sh allure-results .allure-archive --keep-days 30 --keep-runs 20
+# Развернуть выбранные прогоны для отчета:
+#   java -cp "$(cat target/archive-classpath.txt)" support.report.AllureResultsArchive expand .allure-archive target/allure-expanded --latest 3
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+results=${1:-allure-results}
+archive=${2:-.allure-archive}
+shift $(( $# > 2 ? 2 : $# ))
+
+mvn -B -q test-compile dependency:build-classpath -Dmdep.outputFile=target/archive-classpath.txt
+classpath="target/test-classes:$(cat target/archive-classpath.txt)"
+echo "target/test-classes:$(cat target/archive-classpath.txt)" > target/archive-classpath.txt
+
+generate_ms() {
+    local start end
+    start=$(date +%s%N)
+    allure generate --clean "$1" -o target/allure-report-timing > /dev/null 2>&1
+    end=$(date +%s%N)
+    echo $(( (end - start) / 1000000 ))
+}
+
+if ! command -v allure > /dev/null; then
+    java -cp "$classpath" support.report.AllureResultsArchive compact "$results" "$archive" "$@"
+    exit 0
+fi
+
+echo "📊 allure generate до сжатия: $(generate_ms "$results") ms"
+# Срок хранения применяется после замера, иначе часть сжатых прогонов не попадет в сравнение
+java -cp "$classpath" support.report.AllureResultsArchive compact "$results" "$archive" --runs-file target/compacted-runs.txt
+rm -rf target/allure-expanded
+if [ -s target/compacted-runs.txt ]; then
+    java -cp "$classpath" support.report.AllureResultsArchive expand "$archive" target/allure-expanded \
+        --runs "$(cat target/compacted-runs.txt)"
+    echo "📊 allure generate по тем же прогонам из архива: $(generate_ms target/allure-expanded) ms"
+fi
+if [ $# -gt 0 ]; then
+    java -cp "$classpath" support.report.AllureResultsArchive compact "$results" "$archive" "$@"
+fi
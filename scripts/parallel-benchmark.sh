@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# Сравнение времени прогона: последовательный запуск и -Pparallel с 1, 2, 4 и 8 воркерами.
+# Использование: scripts/parallel-benchmark.sh [воркеры...]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+workers=("$@")
+if [ ${#workers[@]} -eq 0 ]; then
+    workers=(1 2 4 8)
+fi
+
+mvn -B -q test-compile
+
+run() {
+    local label=$1
+    shift
+    local start end
+    start=$(date +%s%N)
+    if mvn -B -q surefire:test "$@" > "target/parallel-benchmark-${label}.log" 2>&1; then
+        status=OK
+    else
+        status=FAIL
+    fi
+    end=$(date +%s%N)
+    printf '%-12s %8d ms  %s\n' "$label" $(( (end - start) / 1000000 )) "$status"
+}
+
+printf '%-12s %11s  %s\n' "Режим" "Время" "Статус"
+run serial -Dsauce.profile=headless
+for n in "${workers[@]}"; do
+    run "parallel-$n" -Pparallel -Dworkers="$n"
+done
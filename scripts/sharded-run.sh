@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Локальный запуск тестов в N шардах параллельно: каждый шард — отдельный mvn surefire:test со своим sauce.shard.index.
+# Тесты раскладываются по длительностям из прошлых результатов Allure; план и факт по шардам — в target/perf/shards-*.txt.
+# Surefire-отчеты класса, разделенного между шардами, перезаписываются; результаты Allure сохраняются полностью.
+# Использование: scripts/sharded-run.sh [число шардов] [доп. параметры mvn...]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+shards=${1:-2}
+shift || true
+
+mvn -B -q test-compile
+
+# Снимок истории до запуска: шарды пишут новые результаты в target/allure-results,
+# и план, построенный по живому каталогу, зависел бы от того, какой шард стартовал раньше
+history=target/shard-history
+rm -rf "$history"
+mkdir -p "$history"
+for dir in target/allure-results allure-results; do
+    if [ -d "$dir" ]; then
+        mkdir -p "$history/$dir"
+        find "$dir" -maxdepth 1 -name '*-result.json' -exec cp {} "$history/$dir/" \;
+    fi
+done
+
+start=$(date +%s%N)
+pids=()
+for ((i = 0; i < shards; i++)); do
+    mvn -B -q surefire:test -Dsauce.shard.total="$shards" -Dsauce.shard.index="$i" \
+        -Dsauce.shard.history="$history/target/allure-results,$history/allure-results" "$@" \
+        > "target/shard-$i.log" 2>&1 &
+    pids+=($!)
+done
+
+status=0
+for i in "${!pids[@]}"; do
+    if wait "${pids[$i]}"; then
+        echo "Шард $i/$shards: OK (лог target/shard-$i.log)"
+    else
+        echo "Шард $i/$shards: FAIL (лог target/shard-$i.log)"
+        status=1
+    fi
+done
+end=$(date +%s%N)
+echo "Общее время: $(( (end - start) / 1000000 )) ms"
+exit $status
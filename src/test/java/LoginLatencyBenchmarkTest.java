@@ -0,0 +1,57 @@
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openqa.selenium.WebDriver;
+import pages.LoginPage;
+import support.DriverPool;
+import support.TestConfig;
+import support.perf.LatencyBudget;
+import support.perf.LatencyStats;
+import support.perf.LoginBenchmark;
+import support.report.Attachments;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnabledIfSystemProperty(named = "sauce.benchmark", matches = "true")
+class LoginLatencyBenchmarkTest {
+    private WebDriver driver;
+    private LoginPage loginPage;
+
+    @BeforeEach
+    void setUp() {
+        driver = DriverPool.acquire();
+        loginPage = new LoginPage(driver);
+    }
+
+    @ParameterizedTest(name = "Задержка логина {0}")
+    @ValueSource(strings = {"standard_user", "performance_glitch_user"})
+    @DisplayName("Распределение задержки логина")
+    @Description("Прогрев и серия замеров полного логина с расчетом перцентилей и проверкой бюджета задержки")
+    void measureLoginLatency(String username) {
+        int warmup = TestConfig.benchmarkWarmup(3);
+        int iterations = TestConfig.benchmarkIterations(20);
+
+        LatencyStats stats = Allure.step("Прогрев " + warmup + " и замеров " + iterations, () ->
+                LoginBenchmark.run(driver, loginPage, username, "secret_sauce", warmup, iterations));
+        stats.attachToAllure("Задержка логина " + username);
+        System.out.println("📊 Логин " + username + ": " + stats.summary());
+
+        LatencyBudget budget = TestConfig.latencyBudget(username);
+        List<String> violations = budget.violations(stats);
+        Attachments.text("Бюджет задержки", budget.toString());
+        assertTrue(violations.isEmpty(),
+                "Задержка логина " + username + " вышла за бюджет: " + String.join("; ", violations));
+    }
+
+    @AfterEach
+    void tearDown() {
+        DriverPool.release(driver);
+    }
+}
@@ -0,0 +1,123 @@
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.WebDriver;
+import pages.InventoryPage;
+import support.AuthSessions;
+import support.DriverPool;
+import support.metrics.CommandMetricsExtension;
+import support.metrics.ProcessSamplingExtension;
+import support.perf.BaselineExtension;
+import support.report.AttachmentMetricsExtension;
+import support.report.Attachments;
+import support.report.FailureEvidenceExtension;
+import io.qameta.allure.*;
+import io.qameta.allure.model.Status;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith({AttachmentMetricsExtension.class, CommandMetricsExtension.class, ProcessSamplingExtension.class,
+        BaselineExtension.class, FailureEvidenceExtension.class})
+class SauceDemoInventoryTest {
+    private WebDriver driver;
+
+    @BeforeEach
+    void setUp() {
+        // Если Firefox не запускается, acquire() прерывает тест с причиной (см. BrowserHealthGate)
+        driver = DriverPool.acquire();
+        System.out.println("✅ Firefox успешно инициализирован");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Список товаров отображается для авторизованного standard_user")
+    @Description("Тест открывает inventory.html с подготовленной сессией standard_user без UI-логина и проверяет список товаров")
+    @Story("Каталог: Авторизованный пользователь")
+    @Severity(SeverityLevel.CRITICAL)
+    @TmsLink("TC-101")
+    void testInventoryIsDisplayedForStandardUser() {
+        Allure.feature("Каталог товаров");
+        Allure.story("Просмотр списка товаров");
+        Allure.label("testType", "positive");
+
+        try {
+            InventoryPage inventoryPage = Allure.step("Открытие каталога с сессией standard_user", () ->
+                    AuthSessions.openInventoryAs(driver, "standard_user"));
+
+            Allure.step("Проверка URL каталога", () -> {
+                String currentUrl = inventoryPage.getCurrentUrl();
+                Attachments.text("Текущий URL", currentUrl);
+                assertTrue(currentUrl.contains("inventory.html"),
+                        "URL должен содержать 'inventory.html'. Текущий URL: " + currentUrl);
+            });
+
+            Allure.step("Проверка количества товаров", () -> {
+                int productCount = inventoryPage.getProductCount();
+                Attachments.text("Количество товаров", String.valueOf(productCount));
+                assertEquals(6, productCount, "В каталоге должно быть 6 товаров");
+            });
+
+            Allure.step("Тест успешно завершен", Status.PASSED);
+            System.out.println("✅ Тест пройден: Каталог отображается для standard_user");
+
+        } catch (Exception e) {
+            Allure.step("Ошибка выполнения теста", Status.FAILED);
+            Attachments.text("Ошибка", "❌ Ошибка в тесте: " + e.getMessage());
+            System.err.println("❌ Ошибка в тесте: " + e.getMessage());
+            e.printStackTrace();
+            fail("Тест не прошел из-за ошибки: " + e.getMessage());
+        }
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Добавление товара в корзину обновляет счетчик")
+    @Description("Тест добавляет товар в корзину из каталога, открытого с подготовленной сессией, и проверяет счетчик корзины")
+    @Story("Корзина: Добавление товара")
+    @Severity(SeverityLevel.CRITICAL)
+    @TmsLink("TC-102")
+    void testAddProductToCart() {
+        Allure.feature("Корзина");
+        Allure.story("Добавление товара в корзину");
+        Allure.label("testType", "positive");
+
+        try {
+            InventoryPage inventoryPage = Allure.step("Открытие каталога с сессией standard_user", () ->
+                    AuthSessions.openInventoryAs(driver, "standard_user"));
+
+            Allure.step("Добавление первого товара в корзину", () -> {
+                inventoryPage.addProductToCart(0);
+            });
+
+            Allure.step("Проверка счетчика корзины", () -> {
+                int badgeCount = inventoryPage.getCartBadgeCount();
+                Attachments.text("Товаров в корзине", String.valueOf(badgeCount));
+                assertEquals(1, badgeCount, "В корзине должен быть 1 товар");
+            });
+
+            Allure.step("Тест успешно завершен", Status.PASSED);
+            System.out.println("✅ Тест пройден: Товар добавлен в корзину");
+
+        } catch (Exception e) {
+            Allure.step("Ошибка выполнения теста", Status.FAILED);
+            Attachments.text("Ошибка", "❌ Ошибка в тесте: " + e.getMessage());
+            System.err.println("❌ Ошибка в тесте: " + e.getMessage());
+            e.printStackTrace();
+            fail("Тест не прошел из-за ошибки: " + e.getMessage());
+        }
+    }
+
+    @AfterEach
+    @Step("Возврат браузера в пул")
+    @DisplayName("Очистка окружения после теста")
+    void tearDown() {
+        if (driver != null) {
+            try {
+                DriverPool.release(driver);
+                System.out.println("✅ Драйвер возвращен в пул");
+            } catch (Exception e) {
+                Allure.step("Ошибка при возврате драйвера в пул", Status.FAILED);
+                System.err.println("Ошибка при возврате драйвера в пул: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import support.TestConfig;
+import support.load.LoadGenerator;
+import support.load.LoadReport;
+import support.load.LoadScenario;
+import support.report.Attachments;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnabledIfSystemProperty(named = "sauce.load", matches = "true")
+class SauceDemoLoginLoadTest {
+
+    @Test
+    @DisplayName("Нагрузка на логин виртуальными пользователями")
+    @Description("Сценарии логина SauceDemoLoginTest выполняются на уровне HTTP с заданной частотой прихода пользователей; проверяется, что под нагрузкой каждый сценарий дает ожидаемый результат")
+    void loginUnderLoad() throws InterruptedException {
+        String baseUrl = TestConfig.loadBaseUrl();
+        List<LoadScenario> scenarios = TestConfig.loadScenarios();
+        Attachments.text("Стенд", baseUrl);
+        Attachments.text("Сценарии", scenarios.stream().map(Enum::name).collect(Collectors.joining(", ")));
+
+        LoadGenerator generator = new LoadGenerator(baseUrl, TestConfig.loadRate(),
+                TestConfig.loadRampUp(), TestConfig.loadDuration());
+        LoadReport report = Allure.step("Нагрузка " + TestConfig.loadRate() + " польз./с", () -> generator.run(scenarios));
+
+        report.publish("Нагрузка на логин");
+        System.out.println("📊 " + report.toTable());
+
+        assertTrue(report.totalRequests() > 0, "Ни один виртуальный пользователь не завершил сценарий");
+        assertEquals(0, report.totalFailures(),
+                "Расхождения с ожидаемым результатом под нагрузкой: " + report.failureSamples());
+    }
+}
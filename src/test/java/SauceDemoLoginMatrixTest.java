@@ -0,0 +1,84 @@
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openqa.selenium.WebDriver;
+import pages.LoginOutcome;
+import pages.LoginPage;
+import support.DriverPool;
+import support.data.LoginCase;
+import support.data.LoginCaseSource;
+import support.metrics.CommandMetricsExtension;
+import support.metrics.ProcessSamplingExtension;
+import support.perf.BaselineExtension;
+import support.report.AttachmentMetricsExtension;
+import support.report.Attachments;
+import support.report.FailureEvidenceExtension;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@ExtendWith({AttachmentMetricsExtension.class, CommandMetricsExtension.class, ProcessSamplingExtension.class,
+        BaselineExtension.class, FailureEvidenceExtension.class})
+class SauceDemoLoginMatrixTest {
+    // Страница логина живёт вместе с сессией Firefox из пула: кейсы набора идут через тёплые сессии без повторного запуска
+    private static final Map<WebDriver, LoginPage> PAGES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private WebDriver driver;
+
+    static Stream<LoginCase> loginCases() {
+        return LoginCaseSource.stream();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("loginCases")
+    @DisplayName("Матрица учетных данных")
+    @Description("Кейсы логина читаются построчно из набора данных; каждый проверяет результат логина и текст ошибки")
+    @Story("Логин: Матрица учетных данных")
+    void loginMatrix(LoginCase loginCase) {
+        Allure.feature("Авторизация");
+        Allure.label("testType", "data-driven");
+
+        if (loginCase.isMalformed()) {
+            fail("Строка " + loginCase.getLine() + " набора данных не разобрана: " + loginCase.getParseError());
+        }
+        LoginPage loginPage = PAGES.computeIfAbsent(driver, LoginPage::new);
+
+        Allure.step("Логин '" + loginCase.getUsername() + "' / '" + loginCase.getPassword() + "'", () -> {
+            loginPage.open();
+            loginPage.login(loginCase.getUsername(), loginCase.getPassword());
+        });
+
+        LoginOutcome outcome = Allure.step("Ожидание результата логина", loginPage::waitForLoginOutcome);
+        Attachments.text("Результат логина", outcome.toString());
+
+        Allure.step("Проверка результата", () -> {
+            assertEquals(loginCase.getExpected(), outcome.getStatus(), "Результат логина: " + outcome);
+            if (loginCase.getExpected() == LoginOutcome.Status.ERROR) {
+                assertEquals(loginCase.getExpectedMessage(), outcome.getErrorText(), "Текст сообщения об ошибке");
+            }
+        });
+    }
+
+    @BeforeEach
+    void acquireDriver() {
+        // Если Firefox не запускается, acquire() прерывает кейс с причиной (см. BrowserHealthGate)
+        driver = DriverPool.acquire();
+    }
+
+    @AfterEach
+    void releaseDriver() {
+        // Возврат в пул в том же потоке, что и acquire(): очищает cookies и storage и сбрасывает DriverPool.current()
+        DriverPool.release(driver);
+    }
+}
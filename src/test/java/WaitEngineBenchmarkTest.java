@@ -0,0 +1,82 @@
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import support.DriverPool;
+import support.TestConfig;
+import support.wait.ObserverWaitEngine;
+import support.wait.PollingWaitEngine;
+import support.wait.WaitEngine;
+import support.wait.WaitStats;
+import support.report.Attachments;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnabledIfSystemProperty(named = "sauce.benchmark", matches = "true")
+class WaitEngineBenchmarkTest {
+    private static final int ITERATIONS = TestConfig.benchmarkIterations(20);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private WebDriver driver;
+
+    @BeforeEach
+    void setUp() {
+        driver = DriverPool.acquire();
+    }
+
+    @Test
+    @DisplayName("Сравнение задержки обнаружения: polling против MutationObserver")
+    @Description("Элемент появляется на странице через случайную задержку; измеряется, через сколько после появления его замечает каждый движок ожидания и сколько запросов WebDriver на это уходит")
+    void compareWaitEngines() {
+        String report = "Движок      Ср. задержка  Макс. задержка  Запросов/ожидание\n"
+                + measure("polling", new PollingWaitEngine(driver)) + "\n"
+                + measure("observer", new ObserverWaitEngine(driver));
+
+        Attachments.text("Сравнение движков ожидания", report);
+        System.out.println(report);
+    }
+
+    private String measure(String engineName, WaitEngine engine) {
+        long totalLatencyNanos = 0;
+        long maxLatencyNanos = 0;
+        long commandsBefore = commands(engineName);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            driver.get("data:text/html,<html><body></body></html>");
+            long delayMs = 100 + (i * 37) % 400;
+            ((JavascriptExecutor) driver).executeScript(
+                    "setTimeout(function () {"
+                            + " var el = document.createElement('div');"
+                            + " el.id = 'target'; el.textContent = 'ready';"
+                            + " document.body.appendChild(el);"
+                            + "}, arguments[0]);", delayMs);
+            long start = System.nanoTime();
+
+            assertEquals(0, engine.awaitAnyVisible(TIMEOUT, "#target"));
+
+            long latency = Math.max(0, System.nanoTime() - start - delayMs * 1_000_000);
+            totalLatencyNanos += latency;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+        }
+
+        double commandsPerWait = (double) (commands(engineName) - commandsBefore) / ITERATIONS;
+        return String.format("%-10s  %9d мс  %11d мс  %17.1f",
+                engineName, totalLatencyNanos / ITERATIONS / 1_000_000, maxLatencyNanos / 1_000_000, commandsPerWait);
+    }
+
+    private static long commands(String engineName) {
+        // Ожидания observer, ушедшие на опрос, учитываются отдельно как "observer→polling"
+        return WaitStats.commands(engineName) + WaitStats.commands(engineName + "→polling");
+    }
+
+    @AfterEach
+    void tearDown() {
+        DriverPool.release(driver);
+    }
+}
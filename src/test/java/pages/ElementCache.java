@@ -0,0 +1,86 @@
+package pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Кэш найденных элементов страницы: каждый локатор ищется один раз за загрузку страницы.
+ * Кэш сбрасывается при навигации ({@link #invalidate()}) и точечно — при StaleElementReferenceException.
+ */
+public class ElementCache {
+
+    private static final AtomicLong TOTAL_HITS = new AtomicLong();
+    private static final AtomicLong TOTAL_MISSES = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (TOTAL_HITS.get() + TOTAL_MISSES.get() > 0) {
+                System.out.println("📊 Кэш элементов: попаданий " + TOTAL_HITS.get() + ", промахов " + TOTAL_MISSES.get());
+            }
+        }, "element-cache-summary"));
+    }
+
+    private final WebDriver driver;
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private int hits;
+    private int misses;
+
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public WebElement get(By locator) {
+        WebElement element = elements.get(locator);
+        if (element != null) {
+            hits++;
+            TOTAL_HITS.incrementAndGet();
+            return element;
+        }
+        misses++;
+        TOTAL_MISSES.incrementAndGet();
+        element = driver.findElement(locator);
+        elements.put(locator, element);
+        return element;
+    }
+
+    public <T> T apply(By locator, Function<WebElement, T> action) {
+        try {
+            return action.apply(get(locator));
+        } catch (StaleElementReferenceException e) {
+            elements.remove(locator);
+            return action.apply(get(locator));
+        }
+    }
+
+    public void run(By locator, Consumer<WebElement> action) {
+        apply(locator, element -> {
+            action.accept(element);
+            return null;
+        });
+    }
+
+    public void invalidate() {
+        elements.clear();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    @Override
+    public String toString() {
+        return "попаданий " + hits + ", промахов " + misses;
+    }
+}
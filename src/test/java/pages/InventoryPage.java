@@ -0,0 +1,81 @@
+package pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import support.TestConfig;
+import support.wait.WaitEngine;
+
+import java.time.Duration;
+import java.util.List;
+
+public class InventoryPage {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static final String PRODUCTS_LIST_CSS = ".inventory_list";
+    private static final String CART_BADGE_CSS = ".shopping_cart_badge";
+
+    private static final By INVENTORY_ITEMS = By.className("inventory_item");
+    private static final By ADD_TO_CART_BUTTONS = By.cssSelector(".inventory_item button.btn_inventory");
+    private static final By CART_BADGE = By.cssSelector(CART_BADGE_CSS);
+
+    private final WebDriver driver;
+    private final WaitEngine waits;
+    private final ElementCache elements;
+
+    public InventoryPage(WebDriver driver) {
+        this.driver = driver;
+        this.waits = WaitEngine.create(driver);
+        this.elements = new ElementCache(driver);
+    }
+
+    public InventoryPage open() {
+        driver.get(TestConfig.baseUrl() + "inventory.html");
+        elements.invalidate();
+        return waitUntilLoaded();
+    }
+
+    public InventoryPage waitUntilLoaded() {
+        waits.awaitUrlContains("inventory.html", TIMEOUT);
+        waits.awaitAnyVisible(TIMEOUT, PRODUCTS_LIST_CSS);
+        return this;
+    }
+
+    public boolean isDisplayed() {
+        try {
+            waits.awaitAnyVisible(TIMEOUT, PRODUCTS_LIST_CSS);
+            return driver.getCurrentUrl().contains("inventory.html");
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    public int getProductCount() {
+        return driver.findElements(INVENTORY_ITEMS).size();
+    }
+
+    public InventoryPage addProductToCart(int index) {
+        List<WebElement> buttons = driver.findElements(ADD_TO_CART_BUTTONS);
+        buttons.get(index).click();
+        // После добавления счётчик обязан появиться: ждём его здесь, а не при каждом чтении
+        waits.awaitAnyVisible(TIMEOUT, CART_BADGE_CSS);
+        return this;
+    }
+
+    /**
+     * Текущее значение счётчика корзины без ожидания: у пустой корзины счётчика нет, и это сразу 0.
+     */
+    public int getCartBadgeCount() {
+        List<WebElement> badges = driver.findElements(CART_BADGE);
+        return badges.isEmpty() ? 0 : Integer.parseInt(badges.get(0).getText().trim());
+    }
+
+    public String getCurrentUrl() {
+        return driver.getCurrentUrl();
+    }
+
+    public String getPageTitle() {
+        return driver.getTitle();
+    }
+}
@@ -0,0 +1,58 @@
+package pages;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Стоимость одного вызова {@link LoginPage#login}: режим, число запросов WebDriver и время.
+ * Итог по режимам выводится в консоль при завершении JVM.
+ */
+public final class LoginMetrics {
+
+    private static final Map<LoginMode, long[]> TOTALS = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LoginMetrics::printSummary, "login-metrics-summary"));
+    }
+
+    private final LoginMode mode;
+    private final int commands;
+    private final Duration duration;
+
+    LoginMetrics(LoginMode mode, int commands, Duration duration) {
+        this.mode = mode;
+        this.commands = commands;
+        this.duration = duration;
+
+        long[] totals = TOTALS.computeIfAbsent(mode, k -> new long[3]);
+        synchronized (totals) {
+            totals[0]++;
+            totals[1] += commands;
+            totals[2] += duration.toNanos();
+        }
+    }
+
+    public LoginMode getMode() {
+        return mode;
+    }
+
+    public int getCommands() {
+        return commands;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return mode + ": " + commands + " запросов WebDriver, " + duration.toMillis() + " мс";
+    }
+
+    private static void printSummary() {
+        TOTALS.forEach((mode, totals) -> System.out.println("📊 Логин [" + mode + "]: " + totals[0] + " шт., "
+                + "в среднем " + totals[1] / totals[0] + " запросов WebDriver и "
+                + totals[2] / totals[0] / 1_000_000 + " мс"));
+    }
+}
@@ -0,0 +1,26 @@
+package pages;
+
+/**
+ * Способ заполнения формы логина.
+ */
+public enum LoginMode {
+    /**
+     * clear + sendKeys по каждому полю и click по кнопке: 5 действий плюс поиск ещё не закэшированных элементов.
+     */
+    STANDARD(5),
+
+    /**
+     * Оба поля и отправка формы одним executeScript с генерацией событий input/change для React.
+     */
+    BATCHED(1);
+
+    private final int actionsPerLogin;
+
+    LoginMode(int actionsPerLogin) {
+        this.actionsPerLogin = actionsPerLogin;
+    }
+
+    public int getActionsPerLogin() {
+        return actionsPerLogin;
+    }
+}
@@ -0,0 +1,63 @@
+package pages;
+
+import java.time.Duration;
+
+/**
+ * Результат попытки логина: что появилось первым — список товаров или сообщение об ошибке.
+ */
+public final class LoginOutcome {
+
+    public enum Status {
+        SUCCESS,
+        ERROR,
+        TIMEOUT
+    }
+
+    private final Status status;
+    private final String errorText;
+    private final Duration elapsed;
+
+    private LoginOutcome(Status status, String errorText, Duration elapsed) {
+        this.status = status;
+        this.errorText = errorText;
+        this.elapsed = elapsed;
+    }
+
+    static LoginOutcome success(Duration elapsed) {
+        return new LoginOutcome(Status.SUCCESS, null, elapsed);
+    }
+
+    static LoginOutcome error(String errorText, Duration elapsed) {
+        return new LoginOutcome(Status.ERROR, errorText, elapsed);
+    }
+
+    static LoginOutcome timeout(Duration elapsed) {
+        return new LoginOutcome(Status.TIMEOUT, null, elapsed);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    public boolean isError() {
+        return status == Status.ERROR;
+    }
+
+    public String getErrorText() {
+        return errorText;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    @Override
+    public String toString() {
+        String result = status + " за " + elapsed.toMillis() + " мс";
+        return errorText == null ? result : result + ": " + errorText;
+    }
+}
@@ -1,99 +1,158 @@
 package pages;
 
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import support.LaunchMetrics;
+import support.TestConfig;
+import support.metrics.CommandMetrics;
+import support.perf.NavigationTimings;
+import support.wait.WaitEngine;
+
 import java.time.Duration;
 
 public class LoginPage {
-    private final WebDriver driver;
-    private final WebDriverWait wait;
-
-    @FindBy(id = "user-name")
-    private WebElement usernameField;
-
-    @FindBy(id = "password")
-    private WebElement passwordField;
-
-    @FindBy(id = "login-button")
-    private WebElement loginButton;
-
-    @FindBy(css = "[data-test='error']")
-    private WebElement errorMessage;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static final String USERNAME_FIELD_CSS = "#user-name";
+    private static final String ERROR_MESSAGE_CSS = "[data-test='error']";
+    private static final String PRODUCTS_LIST_CSS = ".inventory_list";
+
+    private static final String BATCHED_LOGIN_SCRIPT = """
+            var valueSetter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;
+            function fill(id, value) {
+                var input = document.getElementById(id);
+                input.focus();
+                valueSetter.call(input, value);
+                input.dispatchEvent(new Event('input', {bubbles: true}));
+                input.dispatchEvent(new Event('change', {bubbles: true}));
+                input.blur();
+            }
+            fill('user-name', arguments[0]);
+            fill('password', arguments[1]);
+            document.getElementById('login-button').click();
+            """;
+
+    private static final By USERNAME_FIELD = By.id("user-name");
+    private static final By PASSWORD_FIELD = By.id("password");
+    private static final By LOGIN_BUTTON = By.id("login-button");
+    private static final By ERROR_MESSAGE = By.cssSelector(ERROR_MESSAGE_CSS);
 
-    @FindBy(className = "inventory_list")
-    private WebElement productsList;
-
-    @FindBy(className = "shopping_cart_link")
-    private WebElement shoppingCart;
+    private final WebDriver driver;
+    private final WaitEngine waits;
+    private final ElementCache elements;
+    private LoginMode loginMode = TestConfig.loginMode();
+    private LoginMetrics lastLoginMetrics;
 
     public LoginPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        PageFactory.initElements(driver, this);
+        this.waits = WaitEngine.create(driver);
+        this.elements = new ElementCache(driver);
     }
 
     public LoginPage open() {
-        driver.get("https://www.saucedemo.com/");
-        wait.until(ExpectedConditions.visibilityOf(usernameField));
+        long start = System.nanoTime();
+        driver.get(TestConfig.baseUrl());
+        elements.invalidate();
+        waits.awaitAnyVisible(TIMEOUT, USERNAME_FIELD_CSS);
+        LaunchMetrics.pageLoaded(driver, System.nanoTime() - start);
+        NavigationTimings.capture(driver, "open");
         return this;
     }
 
     public LoginPage enterUsername(String username) {
-        usernameField.clear();
-        usernameField.sendKeys(username);
+        elements.run(USERNAME_FIELD, field -> {
+            field.clear();
+            field.sendKeys(username);
+        });
         return this;
     }
 
     public LoginPage enterPassword(String password) {
-        passwordField.clear();
-        passwordField.sendKeys(password);
+        elements.run(PASSWORD_FIELD, field -> {
+            field.clear();
+            field.sendKeys(password);
+        });
         return this;
     }
 
     public LoginPage clickLogin() {
-        loginButton.click();
+        elements.run(LOGIN_BUTTON, WebElement::click);
+        return this;
+    }
+
+    public LoginPage withLoginMode(LoginMode loginMode) {
+        this.loginMode = loginMode;
         return this;
     }
 
     public LoginPage login(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
-        clickLogin();
+        long start = System.nanoTime();
+        long commandsBefore = CommandMetrics.currentTest().getTotalCount();
+        int missesBefore = elements.getMisses();
+        if (loginMode == LoginMode.BATCHED) {
+            ((JavascriptExecutor) driver).executeScript(BATCHED_LOGIN_SCRIPT, username, password);
+        } else {
+            enterUsername(username);
+            enterPassword(password);
+            clickLogin();
+        }
+        int commands = CommandMetrics.isEnabled()
+                ? (int) (CommandMetrics.currentTest().getTotalCount() - commandsBefore)
+                : loginMode.getActionsPerLogin() + elements.getMisses() - missesBefore;
+        lastLoginMetrics = new LoginMetrics(loginMode, commands, Duration.ofNanos(System.nanoTime() - start));
         return this;
     }
 
-    public boolean isErrorMessageDisplayed() {
+    public LoginMetrics getLastLoginMetrics() {
+        return lastLoginMetrics;
+    }
+
+    public LoginOutcome waitForLoginOutcome() {
+        long start = System.nanoTime();
         try {
-            wait.until(ExpectedConditions.visibilityOf(errorMessage));
-            return errorMessage.isDisplayed();
-        } catch (Exception e) {
-            return false;
+            int appeared = waits.awaitAnyVisible(TIMEOUT, PRODUCTS_LIST_CSS, ERROR_MESSAGE_CSS);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            if (appeared == 1) {
+                return LoginOutcome.error(getErrorMessageText(), elapsed);
+            }
+            // Список товаров уже показан, значит переход на inventory.html завершён
+            NavigationTimings.capture(driver, "login");
+            return LoginOutcome.success(elapsed);
+        } catch (TimeoutException e) {
+            return LoginOutcome.timeout(Duration.ofNanos(System.nanoTime() - start));
         }
     }
 
+    public boolean isErrorMessageDisplayed() {
+        return waitForLoginOutcome().isError();
+    }
+
     public String getErrorMessageText() {
-        return errorMessage.getText();
+        return elements.apply(ERROR_MESSAGE, WebElement::getText);
     }
 
     public boolean isLoginButtonEnabled() {
-        return loginButton.isEnabled();
+        return elements.apply(LOGIN_BUTTON, WebElement::isEnabled);
+    }
+
+    public ElementCache getElementCache() {
+        return elements;
     }
 
     public boolean isProductsPageDisplayed() {
         try {
-            wait.until(ExpectedConditions.visibilityOf(productsList));
-            return productsList.isDisplayed();
-        } catch (Exception e) {
+            waits.awaitAnyVisible(TIMEOUT, PRODUCTS_LIST_CSS);
+            return true;
+        } catch (TimeoutException e) {
             return false;
         }
     }
 
     public boolean isLoginSuccessful() {
-        return isProductsPageDisplayed() &&
+        return waitForLoginOutcome().isSuccess() &&
                 driver.getCurrentUrl().contains("inventory.html");
     }
 
@@ -106,8 +165,9 @@ public class LoginPage {
     }
 
     public LoginPage waitForProductsPage() {
-        wait.until(ExpectedConditions.urlContains("inventory.html"));
-        wait.until(ExpectedConditions.visibilityOf(productsList));
+        waits.awaitUrlContains("inventory.html", TIMEOUT);
+        waits.awaitAnyVisible(TIMEOUT, PRODUCTS_LIST_CSS);
+        NavigationTimings.capture(driver, "products");
         return this;
     }
 }
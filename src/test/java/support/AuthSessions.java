@@ -0,0 +1,92 @@
+package support;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import pages.InventoryPage;
+import support.server.SauceDemoStubServer;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Быстрый вход без UI-логина: в браузер подкладываются cookie сессии и localStorage пользователя,
+ * после чего сразу открывается inventory.html.
+ * Для каждого пользователя создаётся и проверяется снимок сессии, далее он только восстанавливается;
+ * снимок, cookie которого истекли или истекут в ближайшую минуту, создаётся заново.
+ * Сам UI-логин по-прежнему покрывают тесты SauceDemoLoginTest.
+ */
+public final class AuthSessions {
+
+    // Запас до истечения cookie: сессия должна дожить до конца теста
+    private static final Duration EXPIRY_MARGIN = Duration.ofMinutes(1);
+
+    private static final Map<String, SessionSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    private AuthSessions() {
+    }
+
+    public static InventoryPage openInventoryAs(WebDriver driver, String username) {
+        // cookie и localStorage можно выставить только находясь на домене сайта; robots.txt — самая лёгкая страница
+        driver.get(TestConfig.baseUrl() + "robots.txt");
+
+        SessionSnapshot snapshot = SNAPSHOTS.get(username);
+        if (snapshot != null && snapshot.isValidFor(EXPIRY_MARGIN)) {
+            snapshot.restore(driver);
+            return new InventoryPage(driver).open();
+        }
+        if (snapshot != null) {
+            SNAPSHOTS.remove(username, snapshot);
+        }
+
+        driver.manage().addCookie(new Cookie(SauceDemoStubServer.SESSION_COOKIE, username, "/"));
+        InventoryPage inventoryPage = new InventoryPage(driver);
+        driver.get(TestConfig.baseUrl() + "inventory.html");
+        if (!inventoryPage.isDisplayed()) {
+            throw new IllegalStateException("Сайт не принял сессию пользователя " + username
+                    + ", текущий URL: " + driver.getCurrentUrl());
+        }
+        SNAPSHOTS.put(username, SessionSnapshot.capture(driver));
+        return inventoryPage;
+    }
+
+    private static final class SessionSnapshot {
+        private final Set<Cookie> cookies;
+        private final Map<String, Object> localStorage;
+
+        private SessionSnapshot(Set<Cookie> cookies, Map<String, Object> localStorage) {
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+        }
+
+        @SuppressWarnings("unchecked")
+        static SessionSnapshot capture(WebDriver driver) {
+            Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeScript("return Object.assign({}, window.localStorage);");
+            return new SessionSnapshot(Set.copyOf(driver.manage().getCookies()), Map.copyOf(storage));
+        }
+
+        /**
+         * Ни одна cookie снимка не истекает раньше, чем через margin (сессионные cookie без срока не истекают).
+         */
+        boolean isValidFor(Duration margin) {
+            Date deadline = new Date(System.currentTimeMillis() + margin.toMillis());
+            return cookies.stream().allMatch(cookie -> cookie.getExpiry() == null || cookie.getExpiry().after(deadline));
+        }
+
+        void restore(WebDriver driver) {
+            for (Cookie cookie : cookies) {
+                driver.manage().addCookie(cookie);
+            }
+            if (!localStorage.isEmpty()) {
+                ((JavascriptExecutor) driver).executeScript(
+                        "var entries = arguments[0];"
+                                + " for (var key in entries) { window.localStorage.setItem(key, entries[key]); }",
+                        localStorage);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package support;
+
+import org.openqa.selenium.WebDriverException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Общий для прогона контроль запуска браузера. Временный сбой WebDriver повторяется с растущей паузой
+ * (-Dsauce.browser.retries, по умолчанию 2; -Dsauce.browser.backoffMs, по умолчанию 500).
+ * Тест, на котором попытки запуска не удались, падает с исходной причиной, чтобы прогон не стал зелёным.
+ * После -Dsauce.browser.failFastAfter неудачных попыток подряд (по умолчанию 3) или сразу при ошибке
+ * конфигурации (профиль, режим без сети), которую повтор не исправит, гейт закрывается: до конца прогона
+ * запуск больше не пробуется, а остальные тесты прерываются с той же причиной.
+ */
+public final class BrowserHealthGate {
+
+    private static final int RETRIES = Integer.getInteger("sauce.browser.retries", 2);
+    private static final long BACKOFF_MS = Long.getLong("sauce.browser.backoffMs", 500);
+    private static final int FAIL_FAST_AFTER = Integer.getInteger("sauce.browser.failFastAfter", 3);
+
+    private static final AtomicInteger CONSECUTIVE_FAILURES = new AtomicInteger();
+    private static final AtomicInteger FAILED_ATTEMPTS = new AtomicInteger();
+    private static final AtomicInteger REJECTED = new AtomicInteger();
+    private static final AtomicLong FAILED_NANOS = new AtomicLong();
+    private static final AtomicLong BACKOFF_NANOS = new AtomicLong();
+
+    private static volatile BrowserUnavailableException closedBy;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(BrowserHealthGate::printSummary, "browser-health-summary"));
+    }
+
+    private BrowserHealthGate() {
+    }
+
+    /**
+     * Запускает браузер с повторами. Если гейт уже закрыт, сразу бросает {@link BrowserUnavailableException};
+     * если не удались собственные попытки, бросает ошибку запуска, и тест падает.
+     */
+    static <T> T launch(Supplier<T> launcher) {
+        for (int attempt = 0; ; attempt++) {
+            BrowserUnavailableException closed = closedBy;
+            if (closed != null) {
+                REJECTED.incrementAndGet();
+                throw new BrowserUnavailableException(closed.getMessage(), closed.getCause());
+            }
+
+            long start = System.nanoTime();
+            try {
+                T browser = launcher.get();
+                CONSECUTIVE_FAILURES.set(0);
+                return browser;
+            } catch (WebDriverException e) {
+                Throwable rootCause = failed(attempt, start, e);
+                if (CONSECUTIVE_FAILURES.incrementAndGet() >= FAIL_FAST_AFTER) {
+                    close(rootCause);
+                    throw launchFailed(attempt, rootCause);
+                }
+                if (attempt >= RETRIES) {
+                    throw launchFailed(attempt, rootCause);
+                }
+                backoff(attempt);
+            } catch (RuntimeException e) {
+                // Ошибка конфигурации не исправится повтором: закрываем гейт сразу
+                Throwable rootCause = failed(attempt, start, e);
+                CONSECUTIVE_FAILURES.incrementAndGet();
+                close(rootCause);
+                throw e;
+            }
+        }
+    }
+
+    private static Throwable failed(int attempt, long start, RuntimeException error) {
+        FAILED_NANOS.addAndGet(System.nanoTime() - start);
+        FAILED_ATTEMPTS.incrementAndGet();
+        Throwable rootCause = rootCause(error);
+        System.err.println("❌ Ошибка инициализации Firefox (попытка " + (attempt + 1) + "): " + rootCause);
+        return rootCause;
+    }
+
+    private static IllegalStateException launchFailed(int attempt, Throwable rootCause) {
+        return new IllegalStateException("Браузер не запустился после " + (attempt + 1) + " попыток: " + rootCause,
+                rootCause);
+    }
+
+    private static synchronized void close(Throwable rootCause) {
+        if (closedBy == null) {
+            closedBy = new BrowserUnavailableException("Запуск браузера отключен до конца прогона после "
+                    + CONSECUTIVE_FAILURES.get() + " неудачных попыток подряд: " + rootCause, rootCause);
+            System.err.println("⛔ " + closedBy.getMessage());
+        }
+    }
+
+    private static void backoff(int attempt) {
+        long pauseMs = BACKOFF_MS << attempt;
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            BACKOFF_NANOS.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable current = error;
+        while (current.getCause() != null && current.getCause() != current) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    private static void printSummary() {
+        if (FAILED_ATTEMPTS.get() == 0) {
+            return;
+        }
+        System.out.printf("📊 Запуск браузера: неудачных попыток %d, на них ушло %.0f мс, на паузы между попытками %.0f мс%s%n",
+                FAILED_ATTEMPTS.get(), FAILED_NANOS.get() / 1e6, BACKOFF_NANOS.get() / 1e6,
+                closedBy == null ? "" : ", гейт закрыт, без запуска прервано тестов: " + REJECTED.get());
+    }
+}
@@ -0,0 +1,16 @@
+package support;
+
+import org.opentest4j.TestAbortedException;
+
+/**
+ * Запуск браузера отключён закрытым {@link BrowserHealthGate}. Наследует TestAbortedException, поэтому тесты
+ * после того, на котором запуск упал, отмечаются в JUnit и Allure как прерванные с исходной причиной в сообщении.
+ */
+public class BrowserUnavailableException extends TestAbortedException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BrowserUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,28 @@
+package support;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import support.metrics.CommandMetrics;
+
+public final class DriverFactory {
+
+    private DriverFactory() {
+    }
+
+    public static WebDriver createFirefox() {
+        LaunchProfile profile = TestConfig.launchProfile();
+        FirefoxOptions options = new FirefoxOptions();
+        DriverResolver.resolve().ifPresent(options::setBinary);
+        profile.applyTo(options);
+        options.setPageLoadStrategy(TestConfig.pageLoadStrategy());
+
+        long start = System.nanoTime();
+        WebDriver driver = new FirefoxDriver(options);
+        if (!profile.isHeadless()) {
+            driver.manage().window().maximize();
+        }
+        LaunchMetrics.browserStarted(System.nanoTime() - start);
+        return CommandMetrics.decorate(driver);
+    }
+}
@@ -0,0 +1,134 @@
+package support;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Пул "тёплых" сессий Firefox, живущих до конца JVM.
+ * Между тестами сессия очищается (cookies, localStorage, sessionStorage, about:blank),
+ * мёртвые сессии при выдаче заменяются новыми. Новые сессии запускаются через {@link BrowserHealthGate}.
+ */
+public final class DriverPool {
+
+    private static final Deque<WebDriver> IDLE = new ConcurrentLinkedDeque<>();
+    private static final Deque<WebDriver> ALL = new ConcurrentLinkedDeque<>();
+
+    private static final AtomicInteger CREATED = new AtomicInteger();
+    private static final AtomicInteger REUSED = new AtomicInteger();
+    private static final AtomicInteger REPLACED = new AtomicInteger();
+    private static final AtomicLong STARTUP_NANOS = new AtomicLong();
+
+    private static final ThreadLocal<WebDriver> CURRENT = new ThreadLocal<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverPool() {
+    }
+
+    public static WebDriver acquire() {
+        WebDriver driver;
+        while ((driver = IDLE.pollFirst()) != null) {
+            if (isAlive(driver)) {
+                REUSED.incrementAndGet();
+                CURRENT.set(driver);
+                return driver;
+            }
+            System.out.println("⚠️ Сессия Firefox из пула недоступна, будет создана новая");
+            REPLACED.incrementAndGet();
+            discard(driver);
+        }
+        driver = create();
+        CURRENT.set(driver);
+        return driver;
+    }
+
+    /**
+     * Сессия, выданная текущему потоку и ещё не возвращённая в пул, или null.
+     */
+    public static WebDriver current() {
+        return CURRENT.get();
+    }
+
+    public static void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (CURRENT.get() == driver) {
+            CURRENT.remove();
+        }
+        try {
+            reset(driver);
+            IDLE.offerFirst(driver);
+        } catch (WebDriverException e) {
+            System.err.println("Сессия Firefox не прошла очистку и будет закрыта: " + e.getMessage());
+            discard(driver);
+        }
+    }
+
+    private static WebDriver create() {
+        long start = System.nanoTime();
+        WebDriver driver = BrowserHealthGate.launch(DriverFactory::createFirefox);
+        STARTUP_NANOS.addAndGet(System.nanoTime() - start);
+        CREATED.incrementAndGet();
+        ALL.add(driver);
+        return driver;
+    }
+
+    private static boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static void reset(WebDriver driver) {
+        try {
+            ((JavascriptExecutor) driver).executeScript(
+                    "window.localStorage.clear(); window.sessionStorage.clear();");
+        } catch (WebDriverException ignored) {
+            // about:blank и чужие origin не дают доступа к storage
+        }
+        driver.manage().deleteAllCookies();
+        driver.get("about:blank");
+    }
+
+    private static void discard(WebDriver driver) {
+        ALL.remove(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException ignored) {
+        }
+    }
+
+    private static void shutdown() {
+        WebDriver driver;
+        while ((driver = ALL.pollFirst()) != null) {
+            try {
+                driver.quit();
+            } catch (WebDriverException ignored) {
+            }
+        }
+        IDLE.clear();
+
+        int created = CREATED.get();
+        if (created == 0) {
+            return;
+        }
+        long averageStartupMs = STARTUP_NANOS.get() / created / 1_000_000;
+        System.out.println("📊 Пул драйверов: создано сессий " + created
+                + ", переиспользовано " + REUSED.get()
+                + ", заменено мёртвых " + REPLACED.get()
+                + ", средний старт " + averageStartupMs + " мс"
+                + ", сэкономлено на старте ~" + averageStartupMs * REUSED.get() + " мс");
+    }
+}
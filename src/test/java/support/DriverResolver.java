@@ -0,0 +1,168 @@
+package support;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Находит geckodriver и Firefox один раз за JVM и запоминает их в манифесте на машине
+ * (~/.cache/sauce-test/geckodriver.properties, каталог меняется через -Dsauce.driver.cacheDir).
+ * Следующие JVM берут драйвер из манифеста, проверив только его SHA-256, без обращения к сети.
+ * -Dsauce.geckodriver.version закрепляет версию драйвера, -Dsauce.driver.offline=true запрещает
+ * скачивание, если в манифесте нет подходящего драйвера.
+ */
+public final class DriverResolver {
+
+    private static final String MANIFEST_NAME = "geckodriver.properties";
+
+    private static final AtomicLong CALLS = new AtomicLong();
+    private static final AtomicLong REPEAT_NANOS = new AtomicLong();
+
+    private static volatile Resolution resolution;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverResolver::printSummary, "driver-resolver-summary"));
+    }
+
+    private DriverResolver() {
+    }
+
+    /**
+     * Выставляет webdriver.gecko.driver и возвращает путь к Firefox, если он известен.
+     */
+    public static Optional<String> resolve() {
+        long start = System.nanoTime();
+        CALLS.incrementAndGet();
+        Resolution resolved = resolution;
+        if (resolved != null) {
+            REPEAT_NANOS.addAndGet(System.nanoTime() - start);
+            return Optional.ofNullable(resolved.browserPath);
+        }
+        synchronized (DriverResolver.class) {
+            if (resolution == null) {
+                resolution = resolveOnce(start);
+                System.setProperty("webdriver.gecko.driver", resolution.driverPath);
+            }
+            return Optional.ofNullable(resolution.browserPath);
+        }
+    }
+
+    private static Resolution resolveOnce(long start) {
+        Path manifestFile = cacheDirectory().resolve(MANIFEST_NAME);
+        String pinnedVersion = System.getProperty("sauce.geckodriver.version");
+
+        Properties manifest = readManifest(manifestFile);
+        String driverPath = manifest.getProperty("driver.path");
+        if (driverPath != null
+                && (pinnedVersion == null || pinnedVersion.equals(manifest.getProperty("driver.version")))
+                && Files.isRegularFile(Paths.get(driverPath))
+                && sha256(Paths.get(driverPath)).equals(manifest.getProperty("driver.sha256"))) {
+            return new Resolution(driverPath, manifest.getProperty("browser.path"), "манифест", System.nanoTime() - start);
+        }
+
+        if (Boolean.getBoolean("sauce.driver.offline")) {
+            throw new IllegalStateException("Режим без сети: в " + manifestFile + " нет проверенного geckodriver"
+                    + (pinnedVersion != null ? " версии " + pinnedVersion : "")
+                    + ". Запустите тесты один раз с доступом в сеть, чтобы заполнить кэш.");
+        }
+
+        WebDriverManager manager = WebDriverManager.firefoxdriver();
+        if (pinnedVersion != null) {
+            manager.driverVersion(pinnedVersion);
+        }
+        manager.setup();
+
+        driverPath = manager.getDownloadedDriverPath();
+        String browserPath = manager.getBrowserPath().map(Path::toString).orElse(null);
+
+        Properties updated = new Properties();
+        updated.setProperty("driver.path", driverPath);
+        updated.setProperty("driver.version", manager.getDownloadedDriverVersion());
+        updated.setProperty("driver.sha256", sha256(Paths.get(driverPath)));
+        if (browserPath != null) {
+            updated.setProperty("browser.path", browserPath);
+        }
+        writeManifest(manifestFile, updated);
+        return new Resolution(driverPath, browserPath, "WebDriverManager", System.nanoTime() - start);
+    }
+
+    private static Path cacheDirectory() {
+        return Paths.get(System.getProperty("sauce.driver.cacheDir",
+                Paths.get(System.getProperty("user.home"), ".cache", "sauce-test").toString()));
+    }
+
+    private static Properties readManifest(Path file) {
+        Properties properties = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            } catch (IOException e) {
+                System.err.println("Манифест драйвера не прочитан, будет создан заново: " + e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    private static void writeManifest(Path file, Properties properties) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                properties.store(out, "geckodriver, resolved by sauce-test");
+            }
+        } catch (IOException e) {
+            System.err.println("Не удалось сохранить манифест драйвера " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String sha256(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать " + file, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void printSummary() {
+        Resolution resolved = resolution;
+        if (resolved == null) {
+            return;
+        }
+        long repeats = CALLS.get() - 1;
+        System.out.printf("📊 Разрешение geckodriver: источник %s, первое %.0f мс, повторных %d (в среднем %.1f мкс)%n",
+                resolved.source, resolved.nanos / 1e6, repeats, repeats == 0 ? 0 : REPEAT_NANOS.get() / 1e3 / repeats);
+    }
+
+    private static final class Resolution {
+        private final String driverPath;
+        private final String browserPath;
+        private final String source;
+        private final long nanos;
+
+        private Resolution(String driverPath, String browserPath, String source, long nanos) {
+            this.driverPath = driverPath;
+            this.browserPath = browserPath;
+            this.source = source;
+            this.nanos = nanos;
+        }
+    }
+}
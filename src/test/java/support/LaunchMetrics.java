@@ -0,0 +1,70 @@
+package support;
+
+import org.openqa.selenium.WebDriver;
+import support.perf.PerfRun;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Время запуска браузера и первой загрузки страницы по профилям запуска.
+ * Итог печатается и дописывается в target/perf/launch-profiles-&lt;runId&gt;.txt при завершении JVM.
+ */
+public final class LaunchMetrics {
+
+    private static final Map<String, long[]> STATS = new ConcurrentHashMap<>();
+    private static final Set<WebDriver> LOADED = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LaunchMetrics::printSummary, "launch-metrics-summary"));
+    }
+
+    private LaunchMetrics() {
+    }
+
+    static void browserStarted(long nanos) {
+        add(0, nanos);
+    }
+
+    /**
+     * Учитывает только первую загрузку страницы в каждой сессии браузера.
+     */
+    public static void pageLoaded(WebDriver driver, long nanos) {
+        if (LOADED.add(driver)) {
+            add(2, nanos);
+        }
+    }
+
+    private static void add(int index, long nanos) {
+        long[] stats = STATS.computeIfAbsent(profileKey(), k -> new long[4]);
+        synchronized (stats) {
+            stats[index]++;
+            stats[index + 1] += nanos;
+        }
+    }
+
+    private static String profileKey() {
+        return TestConfig.launchProfile() + "/" + TestConfig.pageLoadStrategy();
+    }
+
+    private static void printSummary() {
+        if (STATS.isEmpty()) {
+            return;
+        }
+        StringBuilder out = new StringBuilder(String.format("%-24s %8s %14s %20s%n",
+                "Профиль/загрузка", "Запусков", "Старт, мс", "Первая страница, мс"));
+        new TreeMap<>(STATS).forEach((profile, stats) -> out.append(String.format("%-24s %8d %14.0f %20.0f%n",
+                profile, stats[0], average(stats[1], stats[0]), average(stats[3], stats[2]))));
+        System.out.println("📊 Профили запуска Firefox:");
+        System.out.print(out);
+        PerfRun.appendLine("launch-profiles", "txt", out.toString());
+    }
+
+    private static double average(long totalNanos, long count) {
+        return count == 0 ? 0 : totalNanos / 1e6 / count;
+    }
+}
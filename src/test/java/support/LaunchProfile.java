@@ -0,0 +1,64 @@
+package support;
+
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.io.File;
+
+/**
+ * Именованные профили запуска Firefox, выбираются свойством -Dsauce.profile.
+ */
+public enum LaunchProfile {
+    /**
+     * Видимое окно 1920x1080, развёрнутое на весь экран.
+     */
+    DEFAULT,
+
+    /**
+     * Без окна, 1920x1080.
+     */
+    HEADLESS,
+
+    /**
+     * Без окна, картинки и веб-шрифты не загружаются: тестам нужны только поля формы и список товаров.
+     */
+    LEAN,
+
+    /**
+     * Как LEAN, но Firefox запускается прямо в заранее подготовленном каталоге профиля
+     * (-Dsauce.firefox.profileDir, аргумент -profile): geckodriver не копирует и не пересылает профиль
+     * при каждом запуске. Каталог занимает одна сессия, поэтому для параллельных воркеров профиль не подходит.
+     */
+    MINIMAL;
+
+    public static LaunchProfile fromName(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+
+    public boolean isHeadless() {
+        return this != DEFAULT;
+    }
+
+    public void applyTo(FirefoxOptions options) {
+        options.addArguments("--width=1920");
+        options.addArguments("--height=1080");
+
+        if (isHeadless()) {
+            options.addArguments("-headless");
+        }
+
+        if (this == MINIMAL) {
+            String profileDir = System.getProperty("sauce.firefox.profileDir");
+            if (profileDir == null || !new File(profileDir).isDirectory()) {
+                throw new IllegalStateException("Для профиля MINIMAL укажите существующий каталог профиля Firefox: "
+                        + "-Dsauce.firefox.profileDir=<путь>, получено: " + profileDir);
+            }
+            options.addArguments("-profile", profileDir);
+        }
+
+        if (this == LEAN || this == MINIMAL) {
+            options.addPreference("permissions.default.image", 2);
+            options.addPreference("gfx.downloadable_fonts.enabled", false);
+            options.addPreference("browser.display.use_document_fonts", 0);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package support;
+
+import org.openqa.selenium.PageLoadStrategy;
+import pages.LoginMode;
+import support.load.LoadScenario;
+import support.perf.LatencyBudget;
+import support.server.SauceDemoStubServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Параметры запуска, передаваемые через системные свойства (-Dsauce.*).
+ */
+public final class TestConfig {
+
+    private TestConfig() {
+    }
+
+    public static final String PUBLIC_BASE_URL = "https://www.saucedemo.com/";
+
+    // Бюджеты заметно ниже 10-секундного ожидания LoginPage, иначе логин упирается в таймаут раньше бюджета
+    private static final Map<String, String> DEFAULT_LATENCY_BUDGETS = Map.of(
+            "standard_user", "p95:3000",
+            "performance_glitch_user", "p95:8000");
+
+    /**
+     * Адрес тестируемого сайта: по умолчанию настоящий SauceDemo,
+     * -Dsauce.baseUrl=local поднимает встроенный {@link SauceDemoStubServer}.
+     */
+    public static String baseUrl() {
+        String baseUrl = System.getProperty("sauce.baseUrl", PUBLIC_BASE_URL);
+        if ("local".equalsIgnoreCase(baseUrl)) {
+            return SauceDemoStubServer.getInstance().getBaseUrl();
+        }
+        return baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    public static LaunchProfile launchProfile() {
+        return LaunchProfile.fromName(System.getProperty("sauce.profile", "default"));
+    }
+
+    public static PageLoadStrategy pageLoadStrategy() {
+        return PageLoadStrategy.valueOf(System.getProperty("sauce.pageLoadStrategy", "normal").toUpperCase());
+    }
+
+    public static String waitEngine() {
+        return System.getProperty("sauce.wait.engine", "polling");
+    }
+
+    public static LoginMode loginMode() {
+        return LoginMode.valueOf(System.getProperty("sauce.login.mode", "standard").toUpperCase());
+    }
+
+    public static int benchmarkWarmup(int defaultValue) {
+        return Integer.getInteger("sauce.benchmark.warmup", defaultValue);
+    }
+
+    /**
+     * Число измеряемых логинов в бенчмарках; обычные тесты логинятся фиксированное число раз.
+     */
+    public static int benchmarkIterations(int defaultValue) {
+        return Integer.getInteger("sauce.benchmark.iterations", defaultValue);
+    }
+
+    /**
+     * Бюджет задержки логина пользователя: -Dsauce.benchmark.budget.&lt;user&gt;=p95:6000,p99:8000
+     */
+    public static LatencyBudget latencyBudget(String username) {
+        return LatencyBudget.parse(System.getProperty("sauce.benchmark.budget." + username,
+                DEFAULT_LATENCY_BUDGETS.get(username)));
+    }
+
+    /**
+     * Адрес для нагрузки на уровне HTTP. По умолчанию встроенный {@link SauceDemoStubServer}:
+     * у настоящего SauceDemo логин проверяется в браузере и POST /api/login нет.
+     */
+    public static String loadBaseUrl() {
+        String baseUrl = System.getProperty("sauce.load.baseUrl", "local");
+        if ("local".equalsIgnoreCase(baseUrl)) {
+            return SauceDemoStubServer.getInstance().getBaseUrl();
+        }
+        return baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    public static double loadRate() {
+        return Double.parseDouble(System.getProperty("sauce.load.rate", "20"));
+    }
+
+    public static Duration loadRampUp() {
+        return Duration.ofSeconds(Long.getLong("sauce.load.rampUpSec", 5));
+    }
+
+    public static Duration loadDuration() {
+        return Duration.ofSeconds(Long.getLong("sauce.load.durationSec", 20));
+    }
+
+    public static List<LoadScenario> loadScenarios() {
+        return LoadScenario.parseList(System.getProperty("sauce.load.scenarios", "all"));
+    }
+}
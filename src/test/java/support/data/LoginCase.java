@@ -0,0 +1,74 @@
+package support.data;
+
+import pages.LoginOutcome;
+
+/**
+ * Строка набора данных для логина: учётные данные и ожидаемый результат.
+ * Строка, которую не удалось разобрать, тоже становится кейсом — он падает отдельно, не прерывая набор.
+ */
+public final class LoginCase {
+
+    private final int line;
+    private final String username;
+    private final String password;
+    private final LoginOutcome.Status expected;
+    private final String expectedMessage;
+    private final String parseError;
+
+    LoginCase(int line, String username, String password, LoginOutcome.Status expected, String expectedMessage) {
+        this(line, username, password, expected, expectedMessage, null);
+    }
+
+    private LoginCase(int line, String username, String password, LoginOutcome.Status expected,
+                      String expectedMessage, String parseError) {
+        this.line = line;
+        this.username = username;
+        this.password = password;
+        this.expected = expected;
+        this.expectedMessage = expectedMessage;
+        this.parseError = parseError;
+    }
+
+    static LoginCase malformed(int line, String parseError) {
+        return new LoginCase(line, "", "", null, null, parseError);
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public LoginOutcome.Status getExpected() {
+        return expected;
+    }
+
+    /**
+     * Ожидаемый текст ошибки; пустая строка для успешного логина.
+     */
+    public String getExpectedMessage() {
+        return expectedMessage;
+    }
+
+    public boolean isMalformed() {
+        return parseError != null;
+    }
+
+    public String getParseError() {
+        return parseError;
+    }
+
+    @Override
+    public String toString() {
+        if (isMalformed()) {
+            return "строка " + line + ": не разобрана";
+        }
+        return "строка " + line + ": '" + username + "' / '" + password + "' → " + expected;
+    }
+}
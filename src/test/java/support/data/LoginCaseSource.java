@@ -0,0 +1,231 @@
+package support.data;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonInput;
+import pages.LoginOutcome;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Ленивое чтение кейсов логина из CSV (username,password,expected,message с заголовком),
+ * JSON Lines (.jsonl: {"username":..,"password":..,"expected":..,"message":..} на строку)
+ * или JSON-массива таких объектов (.json). Файл читается по мере запуска кейсов и в память целиком
+ * не загружается; номер кейса — строка файла, а для JSON-массива — порядковый номер элемента.
+ * Источник: -Dsauce.data.loginCases=&lt;путь к файлу или ресурсу&gt;, по умолчанию /data/login-cases.csv.
+ */
+public final class LoginCaseSource {
+
+    private static final String DEFAULT_SOURCE = "/data/login-cases.csv";
+    private static final Json JSON = new Json();
+
+    private LoginCaseSource() {
+    }
+
+    public static Stream<LoginCase> stream() {
+        return stream(System.getProperty("sauce.data.loginCases", DEFAULT_SOURCE));
+    }
+
+    /**
+     * Поток кейсов; закрытие потока закрывает файл.
+     */
+    public static Stream<LoginCase> stream(String source) {
+        BufferedReader reader = open(source);
+        if (source.endsWith(".json")) {
+            return streamJsonArray(reader);
+        }
+        boolean jsonLines = source.endsWith(".jsonl");
+        AtomicInteger lineNumber = new AtomicInteger();
+        Map<String, Integer> columns = new HashMap<>();
+
+        return reader.lines()
+                .filter(line -> {
+                    int number = lineNumber.incrementAndGet();
+                    if (!jsonLines && number == 1) {
+                        List<String> header = parseCsvLine(line);
+                        for (int i = 0; i < header.size(); i++) {
+                            columns.put(header.get(i).trim().toLowerCase(), i);
+                        }
+                        return false;
+                    }
+                    return !line.isBlank() && !line.startsWith("#");
+                })
+                .map(line -> jsonLines
+                        ? parseJsonLine(lineNumber.get(), line)
+                        : parseCsvRecord(lineNumber.get(), line, columns))
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static Stream<LoginCase> streamJsonArray(BufferedReader reader) {
+        JsonInput input = JSON.newInput(reader);
+        // После ошибки разбора позиция в потоке неизвестна: ошибка становится последним кейсом набора
+        Iterator<LoginCase> cases = new Iterator<>() {
+            private int index;
+            private boolean started;
+            private boolean done;
+            private String pendingError;
+
+            @Override
+            public boolean hasNext() {
+                if (done) {
+                    return false;
+                }
+                if (pendingError != null) {
+                    return true;
+                }
+                try {
+                    if (!started) {
+                        started = true;
+                        input.beginArray();
+                    }
+                    done = !input.hasNext();
+                } catch (JsonException e) {
+                    pendingError = "Файл должен содержать JSON-массив объектов: " + e.getMessage();
+                }
+                return !done;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public LoginCase next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int number = ++index;
+                if (pendingError != null) {
+                    done = true;
+                    return LoginCase.malformed(number, pendingError);
+                }
+                try {
+                    Map<String, Object> record = input.read(Map.class);
+                    return toCase(number, string(record.get("username")), string(record.get("password")),
+                            string(record.get("expected")), string(record.get("message")));
+                } catch (JsonException | ClassCastException | NullPointerException e) {
+                    done = true;
+                    return LoginCase.malformed(number, "Элемент " + number + " JSON-массива не разобран: "
+                            + e.getMessage());
+                } catch (IllegalArgumentException e) {
+                    // Объект прочитан целиком, следующий элемент разбирается как обычно
+                    return LoginCase.malformed(number, e.getMessage());
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cases, Spliterator.ORDERED), false)
+                .onClose(input::close);
+    }
+
+    private static BufferedReader open(String source) {
+        try {
+            Path file = Paths.get(source);
+            if (Files.isRegularFile(file)) {
+                return Files.newBufferedReader(file, StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось открыть набор данных " + source, e);
+        } catch (RuntimeException ignored) {
+            // не путь файловой системы — ищем ресурс
+        }
+        InputStream in = LoginCaseSource.class.getResourceAsStream(source.startsWith("/") ? source : "/" + source);
+        if (in == null) {
+            throw new IllegalArgumentException("Набор данных для логина не найден: " + source);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    private static LoginCase parseCsvRecord(int line, String text, Map<String, Integer> columns) {
+        List<String> fields = parseCsvLine(text);
+        try {
+            return toCase(line, field(fields, columns, "username"), field(fields, columns, "password"),
+                    field(fields, columns, "expected"), field(fields, columns, "message"));
+        } catch (IllegalArgumentException e) {
+            return LoginCase.malformed(line, e.getMessage() + ": " + text);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LoginCase parseJsonLine(int line, String text) {
+        try {
+            Map<String, Object> record = JSON.toType(text, Map.class);
+            return toCase(line, string(record.get("username")), string(record.get("password")),
+                    string(record.get("expected")), string(record.get("message")));
+        } catch (JsonException | IllegalArgumentException e) {
+            return LoginCase.malformed(line, e.getMessage() + ": " + text);
+        }
+    }
+
+    private static LoginCase toCase(int line, String username, String password, String expected, String message) {
+        if (expected.isEmpty()) {
+            throw new IllegalArgumentException("Не указан ожидаемый результат");
+        }
+        LoginOutcome.Status status = LoginOutcome.Status.valueOf(expected.trim().toUpperCase());
+        return new LoginCase(line, username, password, status, message);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("В заголовке нет колонки " + name);
+        }
+        return index < fields.size() ? fields.get(index) : "";
+    }
+
+    private static String string(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Разбор строки CSV: поля в двойных кавычках могут содержать запятые, "" внутри кавычек — это кавычка.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
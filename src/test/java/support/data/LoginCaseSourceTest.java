@@ -0,0 +1,118 @@
+package support.data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pages.LoginOutcome;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginCaseSourceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("CSV: поля в кавычках могут содержать запятые и экранированные кавычки")
+    void parsesQuotedCsvFields() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), LoginCaseSource.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+        assertEquals(List.of(""), LoginCaseSource.parseCsvLine(""));
+    }
+
+    @Test
+    @DisplayName("CSV: колонки берутся по заголовку, комментарии и пустые строки пропускаются")
+    void mapsCsvRowsByHeader() throws IOException {
+        List<LoginCase> cases = read("cases.csv",
+                "expected,message,username,password",
+                "# комментарий",
+                "success,,standard_user,secret_sauce",
+                "",
+                "error,\"Epic sadface: Username, password\",locked_out_user,secret_sauce");
+
+        assertEquals(2, cases.size());
+        LoginCase success = cases.get(0);
+        assertEquals(3, success.getLine());
+        assertEquals("standard_user", success.getUsername());
+        assertEquals("secret_sauce", success.getPassword());
+        assertEquals(LoginOutcome.Status.SUCCESS, success.getExpected());
+        assertEquals("", success.getExpectedMessage());
+
+        LoginCase error = cases.get(1);
+        assertEquals(5, error.getLine());
+        assertEquals(LoginOutcome.Status.ERROR, error.getExpected());
+        assertEquals("Epic sadface: Username, password", error.getExpectedMessage());
+    }
+
+    @Test
+    @DisplayName("CSV: строка с неизвестным результатом становится отдельным упавшим кейсом")
+    void keepsMalformedCsvRowAsCase() throws IOException {
+        List<LoginCase> cases = read("cases.csv",
+                "username,password,expected,message",
+                "user,pass,maybe,",
+                "user,pass,,",
+                "standard_user,secret_sauce,success,");
+
+        assertEquals(3, cases.size());
+        assertTrue(cases.get(0).isMalformed());
+        assertTrue(cases.get(1).isMalformed());
+        assertFalse(cases.get(2).isMalformed());
+    }
+
+    @Test
+    @DisplayName("JSON Lines: объект на строку")
+    void readsJsonLines() throws IOException {
+        List<LoginCase> cases = read("cases.jsonl",
+                "{\"username\":\"standard_user\",\"password\":\"secret_sauce\",\"expected\":\"success\"}",
+                "{не json}");
+
+        assertEquals(2, cases.size());
+        assertEquals(LoginOutcome.Status.SUCCESS, cases.get(0).getExpected());
+        assertEquals("", cases.get(0).getExpectedMessage());
+        assertTrue(cases.get(1).isMalformed());
+        assertEquals(2, cases.get(1).getLine());
+    }
+
+    @Test
+    @DisplayName("JSON: массив объектов читается поэлементно")
+    void readsJsonArray() throws IOException {
+        List<LoginCase> cases = read("cases.json",
+                "[",
+                "  {\"username\": \"standard_user\", \"password\": \"secret_sauce\", \"expected\": \"success\"},",
+                "  {\"username\": \"locked_out_user\", \"password\": \"secret_sauce\", \"expected\": \"error\",",
+                "   \"message\": \"Epic sadface: Sorry, this user has been locked out.\"}",
+                "]");
+
+        assertEquals(2, cases.size());
+        assertFalse(cases.get(0).isMalformed());
+        assertEquals(1, cases.get(0).getLine());
+        assertEquals("locked_out_user", cases.get(1).getUsername());
+        assertEquals("Epic sadface: Sorry, this user has been locked out.", cases.get(1).getExpectedMessage());
+    }
+
+    @Test
+    @DisplayName("JSON: файл без массива даёт один упавший кейс, а не пустой набор")
+    void reportsJsonWithoutArray() throws IOException {
+        List<LoginCase> cases = read("cases.json", "{\"username\": \"standard_user\"}");
+
+        assertEquals(1, cases.size());
+        assertTrue(cases.get(0).isMalformed());
+    }
+
+    private List<LoginCase> read(String fileName, String... lines) throws IOException {
+        Path file = directory.resolve(fileName);
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+        try (Stream<LoginCase> cases = LoginCaseSource.stream(file.toString())) {
+            return cases.collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package support.load;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Открытая модель нагрузки на логин: виртуальные пользователи приходят с заданной частотой
+ * (линейный разгон за rampUp, затем постоянная частота до конца duration) и проходят сценарий
+ * POST /api/login → GET /inventory.html без браузера. Каждый пользователь работает в своём
+ * виртуальном потоке, если JVM их поддерживает (Java 21+), иначе в обычном пуле потоков.
+ * Задержка считается от запланированного момента прихода, поэтому отставание генератора
+ * не занижает перцентили.
+ */
+public final class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Json JSON = new Json();
+
+    private final URI loginUri;
+    private final URI inventoryUri;
+    private final double arrivalsPerSecond;
+    private final Duration rampUp;
+    private final Duration duration;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    public LoadGenerator(String baseUrl, double arrivalsPerSecond, Duration rampUp, Duration duration) {
+        if (arrivalsPerSecond <= 0) {
+            throw new IllegalArgumentException("Частота прихода пользователей должна быть больше нуля: " + arrivalsPerSecond);
+        }
+        URI base = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.loginUri = base.resolve("api/login");
+        this.inventoryUri = base.resolve("inventory.html");
+        this.arrivalsPerSecond = arrivalsPerSecond;
+        this.rampUp = rampUp;
+        this.duration = duration;
+    }
+
+    /**
+     * Запускает нагрузку, чередуя сценарии по кругу, и ждёт завершения всех пользователей.
+     */
+    public LoadReport run(List<LoadScenario> scenarios) throws InterruptedException {
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("Не задано ни одного сценария нагрузки");
+        }
+        long totalNanos = rampUp.toNanos() + duration.toNanos();
+        long start = System.nanoTime();
+        Map<LoadScenario, LoadReport.Recorder> recorders = new EnumMap<>(LoadScenario.class);
+        scenarios.forEach(scenario -> recorders.put(scenario, new LoadReport.Recorder(start + totalNanos)));
+
+        ExecutorService executor = newVirtualUserExecutor();
+        boolean virtualThreads = !(executor instanceof ThreadPoolExecutor);
+        try {
+            for (long arrival = 0; ; arrival++) {
+                long offset = arrivalOffsetNanos(arrival);
+                if (offset >= totalNanos) {
+                    break;
+                }
+                long scheduled = start + offset;
+                LockSupport.parkNanos(scheduled - System.nanoTime());
+                LoadScenario scenario = scenarios.get((int) (arrival % scenarios.size()));
+                LoadReport.Recorder recorder = recorders.get(scenario);
+                executor.execute(() -> runVirtualUser(scenario, scheduled, recorder));
+            }
+        } finally {
+            executor.shutdown();
+            if (!executor.awaitTermination(REQUEST_TIMEOUT.toSeconds() * 2, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+        return new LoadReport(recorders, Duration.ofNanos(System.nanoTime() - start),
+                arrivalsPerSecond, rampUp, duration, virtualThreads);
+    }
+
+    /**
+     * Момент прихода n-го пользователя: при линейном разгоне число пришедших к моменту t равно
+     * rate·t²/(2·rampUp), после разгона растёт на rate в секунду.
+     */
+    long arrivalOffsetNanos(long arrival) {
+        double rampSeconds = rampUp.toNanos() / 1e9;
+        double rampArrivals = arrivalsPerSecond * rampSeconds / 2;
+        double seconds = arrival < rampArrivals
+                ? Math.sqrt(2 * rampSeconds * arrival / arrivalsPerSecond)
+                : rampSeconds + (arrival - rampArrivals) / arrivalsPerSecond;
+        return (long) (seconds * 1e9);
+    }
+
+    private void runVirtualUser(LoadScenario scenario, long scheduledNanos, LoadReport.Recorder recorder) {
+        try {
+            String failure = login(scenario);
+            long latency = System.nanoTime() - scheduledNanos;
+            if (failure == null) {
+                recorder.success(latency);
+            } else {
+                recorder.failure(latency, failure);
+            }
+        } catch (IOException e) {
+            recorder.failure(System.nanoTime() - scheduledNanos, e.getClass().getSimpleName() + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Проходит сценарий и возвращает описание расхождения с ожидаемым результатом или null.
+     */
+    private String login(LoadScenario scenario) throws IOException, InterruptedException {
+        String form = "username=" + URLEncoder.encode(scenario.getUsername(), StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(scenario.getPassword(), StandardCharsets.UTF_8);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(loginUri)
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return "POST /api/login вернул " + response.statusCode();
+        }
+
+        Map<String, Object> body = JSON.toType(response.body(), Map.class);
+        Object error = body.get("error");
+        if (!scenario.expectsSuccess()) {
+            return scenario.getExpectedError().equals(error) ? null : "Ожидалась ошибка, получено: " + response.body();
+        }
+        if (!Boolean.TRUE.equals(body.get("ok"))) {
+            return "Ожидался успешный логин, получено: " + response.body();
+        }
+
+        String cookie = response.headers().firstValue("Set-Cookie").map(value -> value.split(";", 2)[0]).orElse(null);
+        if (cookie == null) {
+            return "Сервер не выдал cookie сессии";
+        }
+        HttpResponse<Void> inventory = client.send(HttpRequest.newBuilder(inventoryUri)
+                        .timeout(REQUEST_TIMEOUT)
+                        .header("Cookie", cookie)
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        return inventory.statusCode() == 200 ? null : "GET /inventory.html вернул " + inventory.statusCode();
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() ищется через reflection: проект собирается под Java 17,
+     * а на Java 21+ тот же код получает виртуальные потоки.
+     */
+    private static ExecutorService newVirtualUserExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "sauce-load-user");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package support.load;
+
+import support.perf.LatencyStats;
+import support.perf.PerfRun;
+import support.report.Attachments;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Итог нагрузочного прогона: пропускная способность, перцентили задержки и расхождения по каждому сценарию.
+ * Пропускная способность — ответы, полученные за окно прихода пользователей (разгон + длительность), делённые
+ * на это окно; ответы, пришедшие после окна, в неё не входят.
+ */
+public final class LoadReport {
+
+    private static final int MAX_FAILURE_SAMPLES = 5;
+
+    private final Map<LoadScenario, Recorder> recorders;
+    private final Duration elapsed;
+    private final double arrivalsPerSecond;
+    private final Duration rampUp;
+    private final Duration duration;
+    private final boolean virtualThreads;
+
+    LoadReport(Map<LoadScenario, Recorder> recorders, Duration elapsed, double arrivalsPerSecond,
+               Duration rampUp, Duration duration, boolean virtualThreads) {
+        this.recorders = recorders;
+        this.elapsed = elapsed;
+        this.arrivalsPerSecond = arrivalsPerSecond;
+        this.rampUp = rampUp;
+        this.duration = duration;
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int totalFailures() {
+        return recorders.values().stream().mapToInt(recorder -> recorder.failures.get()).sum();
+    }
+
+    public int totalRequests() {
+        return recorders.values().stream().mapToInt(recorder -> recorder.latencies.size()).sum();
+    }
+
+    /**
+     * Статистика задержки сценария или null, если ни один пользователь сценария не завершился.
+     */
+    public LatencyStats latency(LoadScenario scenario) {
+        Recorder recorder = recorders.get(scenario);
+        if (recorder == null || recorder.latencies.isEmpty()) {
+            return null;
+        }
+        return new LatencyStats(recorder.latencies.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    public List<String> failureSamples() {
+        List<String> samples = new ArrayList<>();
+        recorders.forEach((scenario, recorder) ->
+                recorder.failureSamples.forEach(sample -> samples.add(scenario + ": " + sample)));
+        return Collections.unmodifiableList(samples);
+    }
+
+    public String toTable() {
+        double windowSeconds = rampUp.plus(duration).toNanos() / 1e9;
+        StringBuilder out = new StringBuilder(String.format(
+                "Нагрузка: %.1f польз./с, разгон %d с, длительность %d с, потоки: %s, прогон %.1f с%n",
+                arrivalsPerSecond, rampUp.toSeconds(), duration.toSeconds(),
+                virtualThreads ? "виртуальные" : "пул платформенных", elapsed.toNanos() / 1e9));
+        out.append(String.format("%-10s %7s %7s %8s %9s %9s %9s %9s%n",
+                "Сценарий", "Запросов", "Ошибок", "Запр./с", "p50, мс", "p95, мс", "p99, мс", "max, мс"));
+        recorders.forEach((scenario, recorder) -> {
+            LatencyStats stats = latency(scenario);
+            int count = recorder.latencies.size();
+            if (stats == null) {
+                out.append(String.format("%-10s %7d %7d %8.1f %9s %9s %9s %9s%n",
+                        scenario, 0, recorder.failures.get(), 0.0, "-", "-", "-", "-"));
+            } else {
+                out.append(String.format("%-10s %7d %7d %8.1f %9.1f %9.1f %9.1f %9.1f%n",
+                        scenario, count, recorder.failures.get(), recorder.completedInWindow.get() / windowSeconds,
+                        stats.percentileMs(50), stats.percentileMs(95), stats.percentileMs(99), stats.maxMs()));
+            }
+        });
+        List<String> samples = failureSamples();
+        if (!samples.isEmpty()) {
+            out.append(System.lineSeparator()).append("Примеры расхождений:").append(System.lineSeparator());
+            samples.forEach(sample -> out.append("  ").append(sample).append(System.lineSeparator()));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Прикладывает таблицу к текущему тесту Allure и сохраняет её в target/perf/load-&lt;прогон&gt;.txt.
+     */
+    public void publish(String name) {
+        String table = toTable();
+        Attachments.file(name, "text/plain", ".txt", table);
+        PerfRun.appendLine("load", "txt", table);
+    }
+
+    static final class Recorder {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<String> failureSamples = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger completedInWindow = new AtomicInteger();
+        private final long windowEndNanos;
+
+        Recorder(long windowEndNanos) {
+            this.windowEndNanos = windowEndNanos;
+        }
+
+        void success(long latencyNanos) {
+            complete(latencyNanos);
+        }
+
+        void failure(long latencyNanos, String description) {
+            complete(latencyNanos);
+            if (failures.incrementAndGet() <= MAX_FAILURE_SAMPLES) {
+                failureSamples.add(description);
+            }
+        }
+
+        private void complete(long latencyNanos) {
+            latencies.add(latencyNanos);
+            if (System.nanoTime() <= windowEndNanos) {
+                completedInWindow.incrementAndGet();
+            }
+        }
+    }
+}
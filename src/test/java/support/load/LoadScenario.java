@@ -0,0 +1,63 @@
+package support.load;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Сценарии логина из SauceDemoLoginTest, воспроизводимые на уровне HTTP.
+ */
+public enum LoadScenario {
+    STANDARD("standard_user", "secret_sauce", null),
+    LOCKED("locked_out_user", "secret_sauce", "Epic sadface: Sorry, this user has been locked out."),
+    GLITCH("performance_glitch_user", "secret_sauce", null),
+    INVALID("invalid_user", "wrong_password", "Epic sadface: Username and password do not match any user in this service"),
+    EMPTY("", "", "Epic sadface: Username is required");
+
+    private final String username;
+    private final String password;
+    private final String expectedError;
+
+    LoadScenario(String username, String password, String expectedError) {
+        this.username = username;
+        this.password = password;
+        this.expectedError = expectedError;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Ожидаемый текст ошибки или null, если логин должен пройти и открыть каталог.
+     */
+    public String getExpectedError() {
+        return expectedError;
+    }
+
+    public boolean expectsSuccess() {
+        return expectedError == null;
+    }
+
+    /**
+     * Список сценариев через запятую, например "standard,glitch"; "all" — все сценарии.
+     */
+    public static List<LoadScenario> parseList(String names) {
+        if (names == null || names.isBlank() || "all".equalsIgnoreCase(names.trim())) {
+            return List.of(values());
+        }
+        List<LoadScenario> scenarios = Arrays.stream(names.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> valueOf(name.toUpperCase()))
+                .collect(Collectors.toList());
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("В списке сценариев нагрузки нет ни одного имени: '" + names + "'");
+        }
+        return scenarios;
+    }
+}
@@ -0,0 +1,152 @@
+package support.metrics;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import support.perf.PerfRun;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Замер каждой команды WebDriver через {@link EventFiringDecorator}.
+ * Результаты копятся по потокам: на текущий тест ({@link CommandMetricsExtension}),
+ * на открытые шаги Allure ({@link StepCommandListener}) и в общий итог прогона,
+ * который печатается и сохраняется в target/perf/webdriver-commands-&lt;runId&gt;.txt при завершении JVM.
+ * Отключается свойством -Dsauce.metrics.commands=false.
+ */
+public final class CommandMetrics implements WebDriverListener {
+
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "getCapabilities", "toString", "hashCode", "equals");
+    private static final int SUMMARY_ROWS = 15;
+
+    private static final CommandMetrics INSTANCE = new CommandMetrics();
+    private static final CommandStats RUN_TOTAL = new CommandStats();
+
+    private static final ThreadLocal<Deque<Long>> CALL_STARTS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<CommandStats> TEST_STATS = ThreadLocal.withInitial(CommandStats::new);
+    private static final ThreadLocal<Deque<CommandStats>> STEP_STATS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(CommandMetrics::printSummary, "webdriver-commands-summary"));
+    }
+
+    private CommandMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("sauce.metrics.commands", "true"));
+    }
+
+    public static WebDriver decorate(WebDriver driver) {
+        if (!isEnabled()) {
+            return driver;
+        }
+        return new EventFiringDecorator<WebDriver>(INSTANCE).decorate(driver);
+    }
+
+    /**
+     * Начинает новый счётчик команд текущего теста в этом потоке и возвращает предыдущий.
+     */
+    public static CommandStats resetTest() {
+        CommandStats previous = TEST_STATS.get();
+        TEST_STATS.set(new CommandStats());
+        return previous;
+    }
+
+    public static CommandStats currentTest() {
+        return TEST_STATS.get();
+    }
+
+    static void stepStarted() {
+        STEP_STATS.get().push(new CommandStats());
+    }
+
+    static CommandStats stepStopped() {
+        Deque<CommandStats> steps = STEP_STATS.get();
+        return steps.isEmpty() ? new CommandStats() : steps.pop();
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isRemoteCall(method)) {
+            CALL_STARTS.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(target, method);
+    }
+
+    private static void record(Object target, Method method) {
+        if (!isRemoteCall(method)) {
+            return;
+        }
+        Deque<Long> starts = CALL_STARTS.get();
+        if (starts.isEmpty()) {
+            return;
+        }
+        long nanos = System.nanoTime() - starts.pop();
+        String command = commandName(target, method);
+
+        TEST_STATS.get().add(command, nanos);
+        for (CommandStats step : STEP_STATS.get()) {
+            step.add(command, nanos);
+        }
+        synchronized (RUN_TOTAL) {
+            RUN_TOTAL.add(command, nanos);
+        }
+    }
+
+    private static boolean isRemoteCall(Method method) {
+        return !LOCAL_METHODS.contains(method.getName());
+    }
+
+    private static String commandName(Object target, Method method) {
+        String type;
+        if (target instanceof WebElement) {
+            type = "WebElement";
+        } else if (target instanceof WebDriver) {
+            type = "WebDriver";
+        } else if (target instanceof WebDriver.Options) {
+            type = "Options";
+        } else if (target instanceof WebDriver.Timeouts) {
+            type = "Timeouts";
+        } else if (target instanceof WebDriver.Window) {
+            type = "Window";
+        } else if (target instanceof WebDriver.Navigation) {
+            type = "Navigation";
+        } else if (target instanceof Alert) {
+            type = "Alert";
+        } else {
+            type = method.getDeclaringClass().getSimpleName();
+        }
+        return type + "." + method.getName();
+    }
+
+    private static void printSummary() {
+        String table;
+        synchronized (RUN_TOTAL) {
+            if (RUN_TOTAL.isEmpty()) {
+                return;
+            }
+            table = RUN_TOTAL.toTable(SUMMARY_ROWS);
+        }
+        System.out.println("📊 Самые затратные команды WebDriver за прогон:");
+        System.out.print(table);
+        PerfRun.appendLine("webdriver-commands", "txt", table);
+    }
+}
@@ -0,0 +1,25 @@
+package support.metrics;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import support.report.Attachments;
+
+/**
+ * Прикладывает к результату теста в Allure таблицу команд WebDriver, выполненных телом теста.
+ */
+public class CommandMetricsExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        CommandMetrics.resetTest();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        CommandStats stats = CommandMetrics.currentTest();
+        if (!stats.isEmpty()) {
+            Attachments.file("Команды WebDriver", "text/plain", ".txt", stats.toTable(Integer.MAX_VALUE));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package support.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Число и время выполнения команд WebDriver, сгруппированные по имени команды.
+ * Экземпляр не потокобезопасен, кроме общего для прогона итога в {@link CommandMetrics}.
+ */
+public class CommandStats {
+
+    private final Map<String, long[]> byCommand = new TreeMap<>();
+    private long totalCount;
+    private long totalNanos;
+
+    public void add(String command, long nanos) {
+        long[] stat = byCommand.computeIfAbsent(command, k -> new long[3]);
+        stat[0]++;
+        stat[1] += nanos;
+        stat[2] = Math.max(stat[2], nanos);
+        totalCount++;
+        totalNanos += nanos;
+    }
+
+    public void addAll(CommandStats other) {
+        other.byCommand.forEach((command, stat) -> {
+            long[] target = byCommand.computeIfAbsent(command, k -> new long[3]);
+            target[0] += stat[0];
+            target[1] += stat[1];
+            target[2] = Math.max(target[2], stat[2]);
+        });
+        totalCount += other.totalCount;
+        totalNanos += other.totalNanos;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public boolean isEmpty() {
+        return totalCount == 0;
+    }
+
+    /**
+     * Таблица команд, отсортированная по суммарному времени; limit ограничивает число строк.
+     */
+    public String toTable(int limit) {
+        List<Map.Entry<String, long[]>> rows = byCommand.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[1]).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+
+        StringBuilder out = new StringBuilder(String.format("%-40s %8s %12s %10s %10s%n",
+                "Команда", "Кол-во", "Всего, мс", "Ср., мс", "Макс., мс"));
+        for (Map.Entry<String, long[]> row : rows) {
+            long[] stat = row.getValue();
+            out.append(String.format("%-40s %8d %12.1f %10.1f %10.1f%n", row.getKey(), stat[0],
+                    stat[1] / 1e6, stat[1] / 1e6 / stat[0], stat[2] / 1e6));
+        }
+        out.append(String.format("%-40s %8d %12.1f%n", "Итого", totalCount, totalNanos / 1e6));
+        return out.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package support.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Снимок дерева процессов браузера: geckodriver, главный процесс Firefox и его дочерние процессы.
+ * RSS — сумма VmRSS из /proc/&lt;pid&gt;/status (только Linux; общая память учитывается в каждом процессе),
+ * CPU — суммарное процессорное время из ProcessHandle.
+ */
+final class ProcessSample {
+
+    private final long offsetMillis;
+    private final int processes;
+    private final long rssKb;
+    private final long cpuMillis;
+
+    private ProcessSample(long offsetMillis, int processes, long rssKb, long cpuMillis) {
+        this.offsetMillis = offsetMillis;
+        this.processes = processes;
+        this.rssKb = rssKb;
+        this.cpuMillis = cpuMillis;
+    }
+
+    /**
+     * @param browserPid pid главного процесса Firefox (capability moz:processID)
+     */
+    static ProcessSample take(long browserPid, long offsetMillis) {
+        List<ProcessHandle> tree = new ArrayList<>();
+        Optional<ProcessHandle> browser = ProcessHandle.of(browserPid);
+        browser.ifPresent(handle -> {
+            handle.parent().filter(parent -> parent.info().command().map(c -> c.contains("geckodriver")).orElse(false))
+                    .ifPresent(tree::add);
+            tree.add(handle);
+            handle.descendants().forEach(tree::add);
+        });
+
+        long rssKb = 0;
+        long cpuMillis = 0;
+        for (ProcessHandle process : tree) {
+            long rss = rssKb(process.pid());
+            rssKb = rss < 0 || rssKb < 0 ? -1 : rssKb + rss;
+            cpuMillis += process.info().totalCpuDuration().map(Duration::toMillis).orElse(0L);
+        }
+        return new ProcessSample(offsetMillis, tree.size(), rssKb, cpuMillis);
+    }
+
+    long getOffsetMillis() {
+        return offsetMillis;
+    }
+
+    int getProcesses() {
+        return processes;
+    }
+
+    /**
+     * Сумма RSS в КБ или -1, если /proc недоступен.
+     */
+    long getRssKb() {
+        return rssKb;
+    }
+
+    long getCpuMillis() {
+        return cpuMillis;
+    }
+
+    private static long rssKb(long pid) {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+            return 0;
+        } catch (IOException | NumberFormatException e) {
+            // процесс завершился между обходом дерева и чтением, либо не Linux
+            return Files.exists(Paths.get("/proc/self/status")) ? 0 : -1;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package support.metrics;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import support.perf.PerfRun;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Память и CPU процессов браузера по тестам: снимок на границах теста и каждые -Dsauce.process.sampleMs мс
+ * (по умолчанию 1000) во время теста. Для каждой сессии браузера (по id сессии WebDriver: pid может быть выдан
+ * повторно) запоминается RSS в начале первого теста; тест, к концу которого RSS вырос больше чем
+ * на -Dsauce.process.rssGrowthBudgetMb (по умолчанию 200), помечается как превысивший бюджет, и дальше рост
+ * считается от его RSS — следующие тесты помечаются, только если снова перерастут бюджет.
+ * Отключение: -Dsauce.process.sampling=false.
+ */
+public final class ProcessSampler {
+
+    private static final boolean ENABLED =
+            !"false".equalsIgnoreCase(System.getProperty("sauce.process.sampling", "true"));
+    private static final long INTERVAL_MS = Long.getLong("sauce.process.sampleMs", 1000);
+    private static final long GROWTH_BUDGET_KB = Long.getLong("sauce.process.rssGrowthBudgetMb", 200) * 1024;
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "browser-process-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Map<String, BrowserHistory> BROWSERS = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ProcessSampler::printSummary, "browser-process-summary"));
+    }
+
+    private ProcessSampler() {
+    }
+
+    /**
+     * Начинает замеры для теста; null, если замеры выключены или pid браузера неизвестен.
+     */
+    public static Session start(WebDriver driver) {
+        if (!ENABLED || driver == null) {
+            return null;
+        }
+        long pid = browserPid(driver);
+        return pid < 0 ? null : new Session(pid, sessionId(driver, pid));
+    }
+
+    private static String sessionId(WebDriver driver, long pid) {
+        WebDriver unwrapped = driver;
+        while (unwrapped instanceof WrapsDriver) {
+            unwrapped = ((WrapsDriver) unwrapped).getWrappedDriver();
+        }
+        if (unwrapped instanceof RemoteWebDriver && ((RemoteWebDriver) unwrapped).getSessionId() != null) {
+            return ((RemoteWebDriver) unwrapped).getSessionId().toString();
+        }
+        return "pid-" + pid + "-" + System.identityHashCode(unwrapped);
+    }
+
+    private static long browserPid(WebDriver driver) {
+        try {
+            Object pid = ((HasCapabilities) driver).getCapabilities().getCapability("moz:processID");
+            return pid instanceof Number ? ((Number) pid).longValue() : -1;
+        } catch (ClassCastException | WebDriverException e) {
+            return -1;
+        }
+    }
+
+    public static final class Session {
+        private final long pid;
+        private final String sessionId;
+        private final long startNanos = System.nanoTime();
+        private final List<ProcessSample> samples = new ArrayList<>();
+        private final ScheduledFuture<?> timer;
+
+        private Session(long pid, String sessionId) {
+            this.pid = pid;
+            this.sessionId = sessionId;
+            sample();
+            this.timer = TIMER.scheduleAtFixedRate(this::sample, INTERVAL_MS, INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+
+        private void sample() {
+            ProcessSample sample = ProcessSample.take(pid, (System.nanoTime() - startNanos) / 1_000_000);
+            synchronized (samples) {
+                samples.add(sample);
+            }
+        }
+
+        /**
+         * Останавливает замеры, снимает последний снимок и обновляет историю сессии браузера.
+         *
+         * @return описание превышения бюджета роста памяти или null
+         */
+        public String stop() {
+            timer.cancel(false);
+            sample();
+            ProcessSample first;
+            ProcessSample last;
+            synchronized (samples) {
+                first = samples.get(0);
+                last = samples.get(samples.size() - 1);
+            }
+            if (last.getRssKb() < 0) {
+                return null;
+            }
+            BrowserHistory history = BROWSERS.computeIfAbsent(sessionId, key -> new BrowserHistory(pid, first.getRssKb()));
+            return history.add(last, peakRssKb());
+        }
+
+        public String toTable() {
+            StringBuilder out = new StringBuilder(String.format("Firefox pid %d%n%8s %10s %12s %10s%n",
+                    pid, "t, мс", "Процессов", "RSS, МБ", "CPU, мс"));
+            synchronized (samples) {
+                for (ProcessSample sample : samples) {
+                    out.append(String.format("%8d %10d %12s %10d%n", sample.getOffsetMillis(), sample.getProcesses(),
+                            sample.getRssKb() < 0 ? "н/д" : String.format("%.1f", sample.getRssKb() / 1024.0),
+                            sample.getCpuMillis()));
+                }
+                ProcessSample first = samples.get(0);
+                ProcessSample last = samples.get(samples.size() - 1);
+                out.append(String.format("%nЗа тест: RSS %+.1f МБ, пик %.1f МБ, CPU %d мс%n",
+                        (last.getRssKb() - first.getRssKb()) / 1024.0, peakRssKb() / 1024.0,
+                        last.getCpuMillis() - first.getCpuMillis()));
+            }
+            BrowserHistory history = BROWSERS.get(sessionId);
+            if (history != null) {
+                out.append(history.describe()).append(System.lineSeparator());
+            }
+            return out.toString();
+        }
+
+        private long peakRssKb() {
+            synchronized (samples) {
+                return samples.stream().mapToLong(ProcessSample::getRssKb).max().orElse(0);
+            }
+        }
+    }
+
+    /**
+     * RSS одной сессии браузера на протяжении всех её тестов.
+     */
+    private static final class BrowserHistory {
+        private final long pid;
+        private final long initialRssKb;
+        // От этого RSS считается рост: начало сессии или конец последнего теста, превысившего бюджет
+        private long baselineRssKb;
+        private int testsSinceBaseline;
+        private long lastRssKb;
+        private long peakRssKb;
+        private long lastCpuMillis;
+        private int tests;
+        private int flaggedTests;
+
+        private BrowserHistory(long pid, long initialRssKb) {
+            this.pid = pid;
+            this.initialRssKb = initialRssKb;
+            this.baselineRssKb = initialRssKb;
+        }
+
+        synchronized String add(ProcessSample last, long peakRssKb) {
+            tests++;
+            testsSinceBaseline++;
+            lastRssKb = last.getRssKb();
+            lastCpuMillis = last.getCpuMillis();
+            this.peakRssKb = Math.max(this.peakRssKb, peakRssKb);
+            long growthKb = lastRssKb - baselineRssKb;
+            if (growthKb <= GROWTH_BUDGET_KB) {
+                return null;
+            }
+            String growth = String.format("RSS браузера вырос на %.1f МБ за %d тестов (бюджет %d МБ)",
+                    growthKb / 1024.0, testsSinceBaseline, GROWTH_BUDGET_KB / 1024);
+            flaggedTests++;
+            baselineRssKb = lastRssKb;
+            testsSinceBaseline = 0;
+            return growth;
+        }
+
+        synchronized String describe() {
+            return String.format("Сессия: тестов %d, RSS %.1f → %.1f МБ (пик %.1f МБ), CPU %d мс%s",
+                    tests, initialRssKb / 1024.0, lastRssKb / 1024.0, peakRssKb / 1024.0, lastCpuMillis,
+                    flaggedTests > 0 ? ", ⚠️ рост сверх бюджета в " + flaggedTests + " тестах" : "");
+        }
+    }
+
+    private static void printSummary() {
+        if (BROWSERS.isEmpty()) {
+            return;
+        }
+        StringBuilder out = new StringBuilder();
+        new TreeMap<>(BROWSERS).forEach((sessionId, history) -> out.append("Firefox pid ").append(history.pid)
+                .append(", сессия ").append(sessionId).append(": ").append(history.describe()).append(System.lineSeparator()));
+        System.out.println("📊 Процессы браузера:");
+        System.out.print(out);
+        PerfRun.appendLine("browser-processes", "txt", out.toString().stripTrailing());
+    }
+}
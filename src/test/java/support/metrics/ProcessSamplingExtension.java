@@ -0,0 +1,45 @@
+package support.metrics;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Status;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+import support.DriverPool;
+import support.report.Attachments;
+
+/**
+ * Замеряет память и CPU процессов браузера текущего потока во время теста ({@link ProcessSampler}),
+ * прикладывает замеры к тесту и отмечает рост памяти сверх бюджета шагом BROKEN;
+ * с -Dsauce.process.failOnGrowth=true такой тест падает.
+ */
+public class ProcessSamplingExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ProcessSamplingExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        ProcessSampler.Session session = ProcessSampler.start(DriverPool.current());
+        if (session != null) {
+            context.getStore(NAMESPACE).put(ProcessSampler.Session.class, session);
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        ProcessSampler.Session session = context.getStore(NAMESPACE).remove(ProcessSampler.Session.class, ProcessSampler.Session.class);
+        if (session == null) {
+            return;
+        }
+        String growth = session.stop();
+        Attachments.file("Память и CPU браузера", "text/plain", ".txt", session.toTable());
+        if (growth != null) {
+            System.out.println("⚠️ " + growth);
+            Allure.step(growth, Status.BROKEN);
+            if (Boolean.getBoolean("sauce.process.failOnGrowth")) {
+                throw new AssertionFailedError(growth);
+            }
+        }
+    }
+}
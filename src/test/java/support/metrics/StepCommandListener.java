@@ -0,0 +1,31 @@
+package support.metrics;
+
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.StepResult;
+
+/**
+ * Добавляет к каждому шагу Allure параметры с числом и временем команд WebDriver, выполненных внутри шага.
+ * Подключается через META-INF/services/io.qameta.allure.listener.LifecycleListener.
+ */
+public class StepCommandListener implements StepLifecycleListener {
+
+    @Override
+    public void beforeStepStart(StepResult result) {
+        CommandMetrics.stepStarted();
+    }
+
+    @Override
+    public void beforeStepStop(StepResult result) {
+        CommandStats stats = CommandMetrics.stepStopped();
+        if (stats.isEmpty()) {
+            return;
+        }
+        result.getParameters().add(new Parameter()
+                .setName("WebDriver: команд")
+                .setValue(String.valueOf(stats.getTotalCount())));
+        result.getParameters().add(new Parameter()
+                .setName("WebDriver: время, мс")
+                .setValue(String.format("%.1f", stats.getTotalNanos() / 1e6)));
+    }
+}
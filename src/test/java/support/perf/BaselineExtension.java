@@ -0,0 +1,100 @@
+package support.perf;
+
+import io.qameta.allure.model.StepResult;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+import support.report.Attachments;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сравнивает длительность теста и его шагов с базовой линией прошлых прогонов ({@link BaselineStore})
+ * и прикладывает сравнение к результату в Allure. Тест падает, если он стал медленнее p95 базовой линии
+ * больше чем на -Dsauce.baseline.maxRegressionPct процентов (по умолчанию 50) и больше чем на
+ * -Dsauce.baseline.minDeltaMs (по умолчанию 200, чтобы не ловить шум коротких тестов); проверка включается,
+ * когда в истории набралось -Dsauce.baseline.minSamples замеров (по умолчанию 5).
+ * Замеры упавших тестов в историю не попадают.
+ */
+public class BaselineExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(BaselineExtension.class);
+    private static final String START_NANOS = "startNanos";
+    private static final String START_MILLIS = "startMillis";
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        BaselineStepListener.reset();
+        context.getStore(NAMESPACE).put(START_MILLIS, System.currentTimeMillis());
+        context.getStore(NAMESPACE).put(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        long durationMillis = (System.nanoTime() - context.getStore(NAMESPACE).get(START_NANOS, Long.class)) / 1_000_000;
+        List<StepResult> steps = BaselineStepListener.drain();
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        BaselineStore store = BaselineStore.getInstance();
+        String testId = context.getUniqueId();
+        List<Long> history = store.history(testId);
+        double maxRegressionPct = Double.parseDouble(System.getProperty("sauce.baseline.maxRegressionPct", "50"));
+        int minSamples = Integer.getInteger("sauce.baseline.minSamples", 5);
+        long minDeltaMillis = Long.getLong("sauce.baseline.minDeltaMs", 200);
+
+        StringBuilder report = new StringBuilder(String.format("%-45s %8s %10s %10s %4s %8s%n",
+                "Тест / шаг", "Сейчас", "Баз. p50", "Баз. p95", "n", "Δ p95"));
+        report.append(row(context.getDisplayName(), List.of(durationMillis), history));
+
+        Map<String, List<Long>> stepDurations = new LinkedHashMap<>();
+        for (StepResult step : steps) {
+            stepDurations.computeIfAbsent(step.getName(), name -> new ArrayList<>()).add(step.getStop() - step.getStart());
+            store.record(testId, step.getName(), step.getStart(), step.getStop() - step.getStart());
+        }
+        stepDurations.forEach((name, current) -> report.append(row("  " + name, current, store.history(testId, name))));
+        store.record(testId, null, context.getStore(NAMESPACE).get(START_MILLIS, Long.class), durationMillis);
+
+        report.append(String.format("%nПорог: +%.0f%% и не меньше %d мс к p95 базовой линии, проверка с %d замеров истории%n",
+                maxRegressionPct, minDeltaMillis, minSamples));
+        Attachments.file("Сравнение с базовой линией", "text/plain", ".txt", report.toString());
+
+        if (history.size() >= minSamples) {
+            double baselineP95 = p95(history);
+            double regressionPct = (durationMillis - baselineP95) / Math.max(1, baselineP95) * 100;
+            if (regressionPct > maxRegressionPct && durationMillis - baselineP95 > minDeltaMillis) {
+                throw new AssertionFailedError(String.format(
+                        "Тест стал медленнее базовой линии: %d мс против p95 %.0f мс (+%.0f%%, порог +%.0f%%)%n%s",
+                        durationMillis, baselineP95, regressionPct, maxRegressionPct, report));
+            }
+        }
+    }
+
+    private static String row(String name, List<Long> current, List<Long> history) {
+        double currentP95 = p95(current);
+        if (history.isEmpty()) {
+            return String.format("%-45s %6.0f мс %10s %10s %4d %8s%n", shorten(name), currentP95, "-", "-", 0, "-");
+        }
+        LatencyStats baseline = stats(history);
+        return String.format("%-45s %6.0f мс %7.0f мс %7.0f мс %4d %+7.0f%%%n", shorten(name), currentP95,
+                baseline.percentileMs(50), baseline.percentileMs(95), history.size(),
+                (currentP95 - baseline.percentileMs(95)) / Math.max(1, baseline.percentileMs(95)) * 100);
+    }
+
+    private static double p95(List<Long> millis) {
+        return stats(millis).percentileMs(95);
+    }
+
+    private static LatencyStats stats(List<Long> millis) {
+        return new LatencyStats(millis.stream().mapToLong(value -> value * 1_000_000).toArray());
+    }
+
+    private static String shorten(String name) {
+        return name.length() <= 45 ? name : name.substring(0, 44) + "…";
+    }
+}
@@ -0,0 +1,33 @@
+package support.perf;
+
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Собирает длительности шагов Allure текущего теста для {@link BaselineExtension}.
+ * Подключается через META-INF/services/io.qameta.allure.listener.LifecycleListener.
+ */
+public class BaselineStepListener implements StepLifecycleListener {
+
+    private static final ThreadLocal<List<StepResult>> STEPS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        if (result.getStart() != null && result.getStop() != null) {
+            STEPS.get().add(result);
+        }
+    }
+
+    static void reset() {
+        STEPS.get().clear();
+    }
+
+    static List<StepResult> drain() {
+        List<StepResult> steps = new ArrayList<>(STEPS.get());
+        STEPS.get().clear();
+        return steps;
+    }
+}
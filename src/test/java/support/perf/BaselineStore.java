@@ -0,0 +1,238 @@
+package support.perf;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Локальная история длительностей тестов и шагов для сравнения с прошлыми прогонами.
+ * Хранится в {@code <sauce.baseline.dir>/durations.tsv} (по умолчанию .perf-baseline):
+ * строка на замер — прогон, время начала, id теста, шаг (пусто для всего теста), длительность в мс.
+ * Для каждой пары тест/шаг хранятся последние -Dsauce.baseline.window замеров (по умолчанию 20).
+ * Пустое хранилище заполняется шагами из *-result.json прошлых прогонов Allure (-Dsauce.baseline.seedFrom).
+ */
+public final class BaselineStore {
+
+    private static final String FILE_NAME = "durations.tsv";
+    private static final String TEST_LEVEL = "";
+    private static final String SEEDED_RUN = "allure-";
+
+    private static BaselineStore instance;
+
+    private final Path file;
+    private final int window;
+    private final Map<String, List<Long>> history = new LinkedHashMap<>();
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+
+    private BaselineStore(Path directory, int window) {
+        this.file = directory.resolve(FILE_NAME);
+        this.window = window;
+    }
+
+    /**
+     * Хранилище прогона: читается при первом обращении, новые замеры дописываются при завершении JVM.
+     */
+    public static synchronized BaselineStore getInstance() {
+        if (instance == null) {
+            BaselineStore store = new BaselineStore(
+                    Paths.get(System.getProperty("sauce.baseline.dir", ".perf-baseline")),
+                    Integer.getInteger("sauce.baseline.window", 20));
+            if (!Files.exists(store.file)) {
+                store.seed(System.getProperty("sauce.baseline.seedFrom", "allure-results,target/allure-results"));
+            }
+            store.load();
+            Runtime.getRuntime().addShutdownHook(new Thread(store::flush, "baseline-store-flush"));
+            instance = store;
+        }
+        return instance;
+    }
+
+    /**
+     * Длительности из прошлых прогонов, от старых к новым; пустой список, если истории нет.
+     */
+    public synchronized List<Long> history(String testId, String step) {
+        return List.copyOf(history.getOrDefault(key(testId, step == null ? TEST_LEVEL : step), List.of()));
+    }
+
+    public List<Long> history(String testId) {
+        return history(testId, TEST_LEVEL);
+    }
+
+    /**
+     * Запоминает замер текущего прогона; в историю сравнения он попадает только со следующего прогона.
+     */
+    public void record(String testId, String step, long startMillis, long durationMillis) {
+        pending.add(line(PerfRun.id(), startMillis, testId, step == null ? TEST_LEVEL : step, durationMillis));
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t", -1);
+                // Строки всего теста, перенесённые из Allure прежними версиями, с телом теста несравнимы
+                if (fields.length == 5 && !(fields[0].startsWith(SEEDED_RUN) && TEST_LEVEL.equals(fields[3]))) {
+                    history.computeIfAbsent(key(fields[2], fields[3]), k -> new ArrayList<>())
+                            .add(Long.parseLong(fields[4]));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Базовая линия " + file + " не прочитана: " + e.getMessage());
+        }
+        history.replaceAll((key, values) -> trim(values));
+    }
+
+    /**
+     * Дописывает замеры прогона и обрезает историю до окна; файл блокируется, чтобы параллельные форки не смешали записи.
+     */
+    synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    // Читаем через заблокированный канал: на Windows блокировка запрещает чтение другим дескриптором
+                    ByteBuffer existing = ByteBuffer.allocate((int) channel.size());
+                    int read;
+                    do {
+                        read = channel.read(existing, existing.position());
+                    } while (read > 0 && existing.hasRemaining());
+                    List<String> lines = new ArrayList<>(new String(existing.array(), StandardCharsets.UTF_8).lines().toList());
+                    String line;
+                    while ((line = pending.poll()) != null) {
+                        lines.add(line);
+                    }
+                    byte[] content = (String.join(System.lineSeparator(), trimLines(lines)) + System.lineSeparator())
+                            .getBytes(StandardCharsets.UTF_8);
+                    channel.truncate(0);
+                    channel.write(ByteBuffer.wrap(content), 0);
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Не удалось сохранить базовую линию в " + file + ": " + e.getMessage());
+        }
+    }
+
+    private List<String> trimLines(List<String> lines) {
+        Map<String, List<String>> byKey = new LinkedHashMap<>();
+        for (String line : lines) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length == 5) {
+                byKey.computeIfAbsent(key(fields[2], fields[3]), k -> new ArrayList<>()).add(line);
+            }
+        }
+        List<String> kept = new ArrayList<>();
+        byKey.values().forEach(values -> kept.addAll(trim(values)));
+        kept.sort(Comparator.comparingLong(line -> Long.parseLong(line.split("\t", -1)[1])));
+        return kept;
+    }
+
+    private <T> List<T> trim(List<T> values) {
+        return values.size() <= window ? values : new ArrayList<>(values.subList(values.size() - window, values.size()));
+    }
+
+    /**
+     * Заполняет хранилище шагами успешных тестов из результатов Allure прошлых прогонов.
+     * Длительность всего теста в Allure включает setUp/tearDown со старым запуском браузера,
+     * поэтому с телом теста из {@link BaselineExtension} она несравнима и не переносится.
+     */
+    @SuppressWarnings("unchecked")
+    private void seed(String directories) {
+        Json json = new Json();
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String name : directories.split(",")) {
+            Path directory = Paths.get(name.trim());
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*-result.json")) {
+                for (Path result : files) {
+                    try {
+                        results.add(json.toType(Files.readString(result, StandardCharsets.UTF_8), Map.class));
+                    } catch (JsonException | IOException e) {
+                        System.err.println("Результат Allure пропущен: " + result + ": " + e.getMessage());
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        results.sort(Comparator.comparingLong(result -> number(result.get("start"))));
+
+        int seeded = 0;
+        for (Map<String, Object> result : results) {
+            Object testId = result.get("testCaseId");
+            if (!"passed".equals(result.get("status")) || testId == null || result.get("stop") == null) {
+                continue;
+            }
+            String runId = SEEDED_RUN + runLabel(result);
+            for (Object step : (List<Object>) result.getOrDefault("steps", List.of())) {
+                Map<String, Object> stepResult = (Map<String, Object>) step;
+                if (stepResult.get("stop") != null) {
+                    long stepStart = number(stepResult.get("start"));
+                    pending.add(line(runId, stepStart, testId.toString(), String.valueOf(stepResult.get("name")),
+                            number(stepResult.get("stop")) - stepStart));
+                    seeded++;
+                }
+            }
+        }
+        if (seeded > 0) {
+            flush();
+            System.out.println("✅ Базовая линия заполнена шагами из результатов Allure: " + seeded + " замеров");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String runLabel(Map<String, Object> result) {
+        for (Object label : (List<Object>) result.getOrDefault("labels", List.of())) {
+            Map<String, Object> pair = (Map<String, Object>) label;
+            if ("thread".equals(pair.get("name"))) {
+                return String.valueOf(pair.get("value")).split("@", 2)[0];
+            }
+        }
+        return "unknown";
+    }
+
+    private static long number(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    private static String line(String runId, long startMillis, String testId, String step, long durationMillis) {
+        return String.join("\t", runId, String.valueOf(startMillis), clean(testId), clean(step),
+                String.valueOf(durationMillis));
+    }
+
+    private static String clean(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static String key(String testId, String step) {
+        return clean(testId) + "\t" + clean(step);
+    }
+}
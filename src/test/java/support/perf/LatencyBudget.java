@@ -0,0 +1,67 @@
+package support.perf;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Допустимые значения перцентилей, например "p95:10000,p99:15000,max:20000" (мс).
+ */
+public final class LatencyBudget {
+
+    private final Map<String, Double> limitsMs = new LinkedHashMap<>();
+
+    private LatencyBudget() {
+    }
+
+    public static LatencyBudget parse(String spec) {
+        LatencyBudget budget = new LatencyBudget();
+        if (spec == null || spec.isBlank()) {
+            return budget;
+        }
+        for (String part : spec.split(",")) {
+            String[] keyValue = part.trim().split(":", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Некорректный бюджет задержки: '" + part + "' в '" + spec + "'");
+            }
+            budget.limitsMs.put(keyValue[0].trim().toLowerCase(), Double.parseDouble(keyValue[1].trim()));
+        }
+        return budget;
+    }
+
+    /**
+     * Возвращает список нарушений бюджета; пустой список означает, что все перцентили в норме.
+     */
+    public List<String> violations(LatencyStats stats) {
+        List<String> violations = new ArrayList<>();
+        limitsMs.forEach((metric, limit) -> {
+            double actual = valueOf(stats, metric);
+            if (actual > limit) {
+                violations.add(String.format("%s = %.1f мс превышает бюджет %.0f мс", metric, actual, limit));
+            }
+        });
+        return violations;
+    }
+
+    private static double valueOf(LatencyStats stats, String metric) {
+        switch (metric) {
+            case "min":
+                return stats.minMs();
+            case "max":
+                return stats.maxMs();
+            case "mean":
+                return stats.meanMs();
+            default:
+                if (metric.startsWith("p")) {
+                    return stats.percentileMs(Double.parseDouble(metric.substring(1)));
+                }
+                throw new IllegalArgumentException("Неизвестная метрика бюджета: " + metric);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return limitsMs.isEmpty() ? "не задан" : limitsMs.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package support.perf;
+
+import support.report.Attachments;
+
+import java.util.Arrays;
+
+/**
+ * Распределение задержек по замерам System.nanoTime: перцентили и текстовая гистограмма.
+ */
+public final class LatencyStats {
+
+    private static final int HISTOGRAM_BUCKETS = 10;
+    private static final int HISTOGRAM_WIDTH = 40;
+
+    private final long[] sortedNanos;
+
+    public LatencyStats(long[] samplesNanos) {
+        if (samplesNanos.length == 0) {
+            throw new IllegalArgumentException("Нет замеров для расчёта статистики");
+        }
+        this.sortedNanos = samplesNanos.clone();
+        Arrays.sort(sortedNanos);
+    }
+
+    public int count() {
+        return sortedNanos.length;
+    }
+
+    public double minMs() {
+        return toMs(sortedNanos[0]);
+    }
+
+    public double maxMs() {
+        return toMs(sortedNanos[sortedNanos.length - 1]);
+    }
+
+    public double meanMs() {
+        return toMs((long) Arrays.stream(sortedNanos).average().orElse(0));
+    }
+
+    /**
+     * Перцентиль методом ближайшего ранга, например percentileMs(95).
+     */
+    public double percentileMs(double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.length);
+        return toMs(sortedNanos[Math.max(0, Math.min(sortedNanos.length - 1, rank - 1))]);
+    }
+
+    public String summary() {
+        return String.format("n=%d  min=%.1f  p50=%.1f  p95=%.1f  p99=%.1f  max=%.1f мс",
+                count(), minMs(), percentileMs(50), percentileMs(95), percentileMs(99), maxMs());
+    }
+
+    public String histogram() {
+        long min = sortedNanos[0];
+        long max = sortedNanos[sortedNanos.length - 1];
+        long bucketWidth = Math.max(1, (max - min + HISTOGRAM_BUCKETS) / HISTOGRAM_BUCKETS);
+        int[] buckets = new int[HISTOGRAM_BUCKETS];
+        for (long sample : sortedNanos) {
+            buckets[(int) Math.min(HISTOGRAM_BUCKETS - 1, (sample - min) / bucketWidth)]++;
+        }
+        int largest = Arrays.stream(buckets).max().orElse(1);
+
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            long from = min + i * bucketWidth;
+            int bar = (int) Math.round((double) buckets[i] / largest * HISTOGRAM_WIDTH);
+            out.append(String.format("%9.1f – %9.1f мс | %-" + HISTOGRAM_WIDTH + "s %d%n",
+                    toMs(from), toMs(from + bucketWidth), "#".repeat(bar), buckets[i]));
+        }
+        return out.toString();
+    }
+
+    public void attachToAllure(String name) {
+        Attachments.file(name, "text/plain", ".txt", summary() + System.lineSeparator()
+                + System.lineSeparator() + histogram());
+    }
+
+    private static double toMs(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
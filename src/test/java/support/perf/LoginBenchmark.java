@@ -0,0 +1,39 @@
+package support.perf;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import pages.LoginPage;
+
+/**
+ * Замер полного логина (open → login → waitForProductsPage) с прогревом и серией измерений.
+ */
+public final class LoginBenchmark {
+
+    private LoginBenchmark() {
+    }
+
+    public static LatencyStats run(WebDriver driver, LoginPage loginPage, String username, String password,
+                                   int warmupIterations, int measuredIterations) {
+        for (int i = 0; i < warmupIterations; i++) {
+            loginOnce(driver, loginPage, username, password);
+        }
+        long[] samples = new long[measuredIterations];
+        for (int i = 0; i < measuredIterations; i++) {
+            samples[i] = loginOnce(driver, loginPage, username, password);
+        }
+        return new LatencyStats(samples);
+    }
+
+    private static long loginOnce(WebDriver driver, LoginPage loginPage, String username, String password) {
+        try {
+            driver.manage().deleteAllCookies();
+        } catch (WebDriverException ignored) {
+            // на about:blank cookies недоступны — сессии ещё нет
+        }
+        long start = System.nanoTime();
+        loginPage.open()
+                .login(username, password)
+                .waitForProductsPage();
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,95 @@
+package support.perf;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import support.report.Attachments;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Снимает Navigation Timing и самые медленные записи Resource Timing текущей страницы.
+ * Каждый снимок прикладывается к Allure в JSON и дописывается в target/perf/navigation-timing-&lt;runId&gt;.jsonl.
+ * Одна навигация снимается один раз: повторные вызовы на той же странице (тот же performance.timeOrigin)
+ * пропускаются, даже если их метка отличается. Включается свойством -Dsauce.perf.navigationTiming=true.
+ */
+public final class NavigationTimings {
+
+    private static final int SLOWEST_RESOURCES = 5;
+
+    private static final String TIMING_SCRIPT = """
+            var nav = performance.getEntriesByType('navigation')[0];
+            var result = {url: location.href, timeOrigin: performance.timeOrigin, navigation: null, resources: []};
+            if (nav) {
+                result.navigation = {
+                    type: nav.type,
+                    ttfbMs: nav.responseStart - nav.startTime,
+                    dnsMs: nav.domainLookupEnd - nav.domainLookupStart,
+                    connectMs: nav.connectEnd - nav.connectStart,
+                    responseMs: nav.responseEnd - nav.responseStart,
+                    domInteractiveMs: nav.domInteractive - nav.startTime,
+                    domContentLoadedMs: nav.domContentLoadedEventEnd - nav.startTime,
+                    loadEventMs: nav.loadEventEnd > 0 ? nav.loadEventEnd - nav.startTime : null,
+                    transferSize: nav.transferSize
+                };
+            }
+            var resources = performance.getEntriesByType('resource').slice();
+            resources.sort(function (a, b) { return b.duration - a.duration; });
+            result.resourceCount = resources.length;
+            result.resources = resources.slice(0, arguments[0]).map(function (r) {
+                return {name: r.name, initiatorType: r.initiatorType, durationMs: r.duration, transferSize: r.transferSize};
+            });
+            return result;
+            """;
+
+    private static final Json JSON = new Json();
+
+    // performance.timeOrigin последней снятой навигации каждой сессии
+    private static final Map<WebDriver, Object> LAST_CAPTURED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private NavigationTimings() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("sauce.perf.navigationTiming");
+    }
+
+    public static void capture(WebDriver driver, String label) {
+        if (!isEnabled() || !(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        Object timings;
+        try {
+            timings = ((JavascriptExecutor) driver).executeScript(TIMING_SCRIPT, SLOWEST_RESOURCES);
+        } catch (WebDriverException e) {
+            System.err.println("Не удалось снять Navigation Timing (" + label + "): " + e.getMessage());
+            return;
+        }
+        Object timeOrigin = timings instanceof Map ? ((Map<?, ?>) timings).get("timeOrigin") : null;
+        if (timeOrigin != null && timeOrigin.equals(LAST_CAPTURED.put(driver, timeOrigin))) {
+            return;
+        }
+
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("runId", PerfRun.id());
+        record.put("timestamp", System.currentTimeMillis());
+        record.put("label", label);
+        record.put("timings", timings);
+
+        Attachments.file("Navigation Timing: " + label, "application/json", ".json", JSON.toJson(record));
+        PerfRun.appendLine("navigation-timing", "jsonl", toCompactJson(record));
+    }
+
+    static String toCompactJson(Object value) {
+        StringBuilder out = new StringBuilder();
+        try (JsonOutput output = JSON.newOutput(out)) {
+            output.setPrettyPrint(false).write(value);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,45 @@
+package support.perf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Идентификатор текущего прогона и каталог машиночитаемых результатов замеров (-Dsauce.perf.dir, по умолчанию target/perf).
+ */
+public final class PerfRun {
+
+    private static final String RUN_ID = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+            + "-" + ProcessHandle.current().pid();
+
+    private PerfRun() {
+    }
+
+    public static String id() {
+        return RUN_ID;
+    }
+
+    public static Path directory() {
+        return Paths.get(System.getProperty("sauce.perf.dir", "target/perf"));
+    }
+
+    /**
+     * Дописывает строку в файл прогона {@code <prefix>-<runId>.<extension>}.
+     */
+    public static synchronized void appendLine(String prefix, String extension, String line) {
+        Path file = directory().resolve(prefix + "-" + RUN_ID + "." + extension);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось записать результаты замеров в " + file, e);
+        }
+    }
+}
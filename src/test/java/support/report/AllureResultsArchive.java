@@ -0,0 +1,453 @@
+package support.report;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Сжатое хранилище результатов Allure: вместо россыпи *-result.json, *-container.json и *-attachment.*
+ * — по одному zip-архиву на прогон и общий индекс index.jsonl (строка на тест: прогон, historyId, testCaseId,
+ * fullName, статус). Прогон определяется по pid@host из метки thread результата; результаты одного pid@host,
+ * между которыми больше {@link #RUN_GAP}, относятся к разным прогонам (pid мог быть выдан повторно).
+ *
+ * <pre>
+ * compact &lt;каталог результатов&gt; &lt;каталог архива&gt; [--keep-days N] [--keep-runs N] [--runs-file файл]
+ * expand  &lt;каталог архива&gt; &lt;каталог для allure generate&gt; [--runs id,id] [--latest N] [--history historyId]
+ * </pre>
+ */
+public final class AllureResultsArchive {
+
+    private static final String INDEX_FILE = "index.jsonl";
+    private static final DateTimeFormatter RUN_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final Json JSON = new Json();
+    private static final Duration RUN_GAP = Duration.ofMinutes(10);
+
+    private final Path archiveDir;
+
+    public AllureResultsArchive(Path archiveDir) {
+        this.archiveDir = archiveDir;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Использование: compact <results> <archive> [--keep-days N] [--keep-runs N] [--runs-file файл]");
+            System.err.println("               expand <archive> <target> [--runs id,id] [--latest N] [--history historyId]");
+            System.exit(2);
+        }
+        Map<String, String> options = options(args);
+        String command = args[0];
+        if ("compact".equals(command)) {
+            Path results = Paths.get(args[1]);
+            AllureResultsArchive archive = new AllureResultsArchive(Paths.get(args[2]));
+            DirectoryStats before = DirectoryStats.of(results).plus(DirectoryStats.of(archive.archiveDir));
+            List<String> runs = archive.compact(results);
+            int removed = archive.applyRetention(
+                    options.containsKey("keep-days") ? Duration.ofDays(Long.parseLong(options.get("keep-days"))) : null,
+                    options.containsKey("keep-runs") ? Integer.parseInt(options.get("keep-runs")) : Integer.MAX_VALUE);
+            DirectoryStats after = DirectoryStats.of(results).plus(DirectoryStats.of(archive.archiveDir));
+            if (options.containsKey("runs-file")) {
+                Files.writeString(Paths.get(options.get("runs-file")), String.join(",", runs), StandardCharsets.UTF_8);
+            }
+            System.out.println("📊 Сжато прогонов: " + runs.size() + " " + runs + ", удалено по сроку хранения: " + removed);
+            System.out.println("📊 До:    " + before);
+            System.out.println("📊 После: " + after);
+        } else if ("expand".equals(command)) {
+            AllureResultsArchive archive = new AllureResultsArchive(Paths.get(args[1]));
+            Set<String> runs = archive.selectRuns(options.get("runs"),
+                    options.containsKey("latest") ? Integer.parseInt(options.get("latest")) : 0,
+                    options.get("history"));
+            int files = archive.expand(runs, Paths.get(args[2]));
+            System.out.println("📊 Развернуто прогонов: " + runs.size() + " " + runs + ", файлов: " + files);
+        } else {
+            System.err.println("Неизвестная команда: " + command);
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Переносит все прогоны из каталога результатов в архивы и дописывает индекс; исходные файлы удаляются
+     * только после того, как архив и строки индекса прогона записаны.
+     * Файлы, не связанные ни с одним результатом, остаются на месте.
+     *
+     * @return id записанных прогонов
+     */
+    public List<String> compact(Path resultsDir) throws IOException {
+        Map<String, Run> runs = groupByRun(resultsDir);
+        Files.createDirectories(archiveDir);
+        List<Map<String, Object>> index = readIndex();
+        Set<String> knownRuns = index.stream().map(row -> (String) row.get("run")).collect(Collectors.toSet());
+        List<String> written = new ArrayList<>();
+        for (Run run : runs.values()) {
+            String runId = run.id;
+            for (int suffix = 2; knownRuns.contains(runId); suffix++) {
+                runId = run.id + "-" + suffix;
+            }
+            knownRuns.add(runId);
+            Path zip = uniqueArchive(runId);
+            try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+                for (Path file : run.files) {
+                    out.putNextEntry(new ZipEntry(file.getFileName().toString()));
+                    Files.copy(file, out);
+                    out.closeEntry();
+                }
+            }
+            for (Map<String, Object> result : run.results) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("run", runId);
+                row.put("archive", zip.getFileName().toString());
+                row.put("start", result.get("start"));
+                row.put("historyId", result.get("historyId"));
+                row.put("testCaseId", result.get("testCaseId"));
+                row.put("fullName", result.get("fullName"));
+                row.put("status", result.get("status"));
+                index.add(row);
+            }
+            writeIndex(index);
+            for (Path file : run.files) {
+                Files.delete(file);
+            }
+            written.add(runId);
+        }
+        return written;
+    }
+
+    /**
+     * Удаляет архивы прогонов старше maxAge (если задан) и сверх keepRuns самых новых.
+     *
+     * @return число удалённых прогонов
+     */
+    public int applyRetention(Duration maxAge, int keepRuns) throws IOException {
+        List<Map<String, Object>> index = readIndex();
+        Map<String, Long> runStarts = new HashMap<>();
+        Map<String, String> runArchives = new HashMap<>();
+        for (Map<String, Object> row : index) {
+            runStarts.merge((String) row.get("run"), number(row.get("start")), Math::min);
+            runArchives.put((String) row.get("run"), (String) row.get("archive"));
+        }
+        List<String> newestFirst = runStarts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        long oldestAllowed = maxAge == null ? Long.MIN_VALUE : System.currentTimeMillis() - maxAge.toMillis();
+        Set<String> removed = new LinkedHashSet<>();
+        for (int i = 0; i < newestFirst.size(); i++) {
+            String run = newestFirst.get(i);
+            if (i >= keepRuns || runStarts.get(run) < oldestAllowed) {
+                removed.add(run);
+                Files.deleteIfExists(archiveDir.resolve(runArchives.get(run)));
+            }
+        }
+        if (!removed.isEmpty()) {
+            index.removeIf(row -> removed.contains(row.get("run")));
+            writeIndex(index);
+        }
+        return removed.size();
+    }
+
+    /**
+     * Прогоны по списку id, последние N прогонов и/или прогоны, где есть тест с указанным historyId.
+     */
+    public Set<String> selectRuns(String runIds, int latest, String historyId) throws IOException {
+        List<Map<String, Object>> index = readIndex();
+        Set<String> selected = new LinkedHashSet<>();
+        if (runIds != null) {
+            for (String id : runIds.split(",")) {
+                selected.add(id.trim());
+            }
+        }
+        if (latest > 0) {
+            Map<String, Long> starts = new TreeMap<>();
+            index.forEach(row -> starts.merge((String) row.get("run"), number(row.get("start")), Math::min));
+            starts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(latest)
+                    .forEach(entry -> selected.add(entry.getKey()));
+        }
+        if (historyId != null) {
+            index.stream()
+                    .filter(row -> historyId.equals(row.get("historyId")) || historyId.equals(row.get("testCaseId")))
+                    .forEach(row -> selected.add((String) row.get("run")));
+        }
+        return selected;
+    }
+
+    /**
+     * Распаковывает выбранные прогоны в каталог, из которого строится отчёт.
+     *
+     * @return число распакованных файлов
+     */
+    public int expand(Collection<String> runs, Path targetDir) throws IOException {
+        Map<String, String> archives = new HashMap<>();
+        readIndex().forEach(row -> archives.put((String) row.get("run"), (String) row.get("archive")));
+        Files.createDirectories(targetDir);
+        int files = 0;
+        for (String run : runs) {
+            String archive = archives.get(run);
+            if (archive == null) {
+                throw new IllegalArgumentException("Прогона нет в индексе: " + run);
+            }
+            try (ZipInputStream in = new ZipInputStream(Files.newInputStream(archiveDir.resolve(archive)))) {
+                ZipEntry entry;
+                while ((entry = in.getNextEntry()) != null) {
+                    Path target = targetDir.resolve(entry.getName()).normalize();
+                    if (!target.startsWith(targetDir.normalize())) {
+                        throw new IOException("Недопустимый путь в архиве: " + entry.getName());
+                    }
+                    Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                    files++;
+                }
+            }
+        }
+        return files;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Run> groupByRun(Path resultsDir) throws IOException {
+        List<Map<String, Object>> results = new ArrayList<>();
+        Map<Map<String, Object>, Path> fileOfResult = new IdentityHashMap<>();
+        for (Path file : list(resultsDir, "*-result.json")) {
+            Map<String, Object> result = readJson(file);
+            if (result != null) {
+                results.add(result);
+                fileOfResult.put(result, file);
+            }
+        }
+        results.sort(Comparator.comparingLong(result -> number(result.get("start"))));
+
+        // Прогон продолжается, пока очередной результат того же pid@host начинается не позже RUN_GAP после предыдущих
+        Map<String, Run> openRuns = new HashMap<>();
+        Map<String, Run> runOfResult = new HashMap<>();
+        List<Run> runs = new ArrayList<>();
+        for (Map<String, Object> result : results) {
+            String process = processOf(result);
+            long start = number(result.get("start"));
+            Run run = openRuns.get(process);
+            if (run == null || start - run.stop > RUN_GAP.toMillis()) {
+                run = new Run();
+                run.process = process;
+                run.start = start;
+                openRuns.put(process, run);
+                runs.add(run);
+            }
+            run.stop = Math.max(run.stop, Math.max(start, number(result.get("stop"))));
+            run.results.add(result);
+            run.files.add(fileOfResult.get(result));
+            runOfResult.put((String) result.get("uuid"), run);
+            collectAttachments(result, resultsDir, run.files);
+        }
+        for (Path file : list(resultsDir, "*-container.json")) {
+            Map<String, Object> container = readJson(file);
+            if (container == null) {
+                continue;
+            }
+            for (Object child : (List<Object>) container.getOrDefault("children", List.of())) {
+                Run run = runOfResult.get(String.valueOf(child));
+                if (run != null) {
+                    run.files.add(file);
+                    collectAttachments(container, resultsDir, run.files);
+                    break;
+                }
+            }
+        }
+
+        Map<String, Run> byId = new LinkedHashMap<>();
+        for (Run run : runs) {
+            String id = LocalDateTime.ofInstant(Instant.ofEpochMilli(run.start), ZoneId.systemDefault()).format(RUN_TIME)
+                    + "-" + run.process.split("@", 2)[0];
+            run.id = id;
+            for (int suffix = 2; byId.containsKey(run.id); suffix++) {
+                run.id = id + "-" + suffix;
+            }
+            byId.put(run.id, run);
+        }
+        return byId;
+    }
+
+    /**
+     * Вложения результата, его шагов и фикстур контейнера на любой глубине.
+     */
+    @SuppressWarnings("unchecked")
+    private static void collectAttachments(Object node, Path resultsDir, Set<Path> files) {
+        if (node instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) node;
+            for (Object attachment : (List<Object>) map.getOrDefault("attachments", List.of())) {
+                Object source = ((Map<String, Object>) attachment).get("source");
+                if (source != null && Files.exists(resultsDir.resolve(source.toString()))) {
+                    files.add(resultsDir.resolve(source.toString()));
+                }
+            }
+            for (String key : List.of("steps", "befores", "afters")) {
+                collectAttachments(map.get(key), resultsDir, files);
+            }
+        } else if (node instanceof List) {
+            ((List<Object>) node).forEach(child -> collectAttachments(child, resultsDir, files));
+        }
+    }
+
+    /**
+     * pid@host процесса из метки thread ("pid@host.поток(id)"); хост уточняется меткой host, если она есть.
+     */
+    @SuppressWarnings("unchecked")
+    private static String processOf(Map<String, Object> result) {
+        String thread = null;
+        String host = null;
+        for (Object label : (List<Object>) result.getOrDefault("labels", List.of())) {
+            Map<String, Object> pair = (Map<String, Object>) label;
+            if ("thread".equals(pair.get("name"))) {
+                thread = String.valueOf(pair.get("value"));
+            } else if ("host".equals(pair.get("name"))) {
+                host = String.valueOf(pair.get("value"));
+            }
+        }
+        if (thread == null) {
+            return "unknown@" + (host == null ? "unknown" : host);
+        }
+        String[] parts = thread.split("@", 2);
+        if (host == null) {
+            // Без метки host имя потока не отделить от хоста надёжно: берём всё до последней точки
+            host = parts.length < 2 ? "unknown" : parts[1].substring(0, Math.max(parts[1].lastIndexOf('.'), 0));
+        }
+        return parts[0] + "@" + host;
+    }
+
+    private Path uniqueArchive(String runId) {
+        Path zip = archiveDir.resolve(runId + ".zip");
+        for (int suffix = 2; Files.exists(zip); suffix++) {
+            zip = archiveDir.resolve(runId + "-" + suffix + ".zip");
+        }
+        return zip;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> readIndex() throws IOException {
+        Path file = archiveDir.resolve(INDEX_FILE);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    rows.add(JSON.toType(line, Map.class));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private void writeIndex(List<Map<String, Object>> rows) throws IOException {
+        rows.sort(Comparator.comparingLong(row -> number(row.get("start"))));
+        List<String> lines = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            lines.add(JSON.toJson(row).replaceAll("\\s*\\n\\s*", " "));
+        }
+        Files.write(archiveDir.resolve(INDEX_FILE), lines, StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readJson(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return JSON.toType(new String(in.readAllBytes(), StandardCharsets.UTF_8), Map.class);
+        } catch (IOException | JsonException e) {
+            System.err.println("Файл пропущен: " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<Path> list(Path directory, String glob) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+                stream.forEach(files::add);
+            }
+        }
+        return files;
+    }
+
+    private static long number(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 3; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Ожидался параметр --имя: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static final class Run {
+        private final List<Map<String, Object>> results = new ArrayList<>();
+        private final Set<Path> files = new LinkedHashSet<>();
+        private String process;
+        private long start;
+        private long stop;
+        private String id;
+    }
+
+    private static final class DirectoryStats {
+        private final long files;
+        private final long bytes;
+
+        private DirectoryStats(long files, long bytes) {
+            this.files = files;
+            this.bytes = bytes;
+        }
+
+        static DirectoryStats of(Path directory) {
+            if (!Files.isDirectory(directory)) {
+                return new DirectoryStats(0, 0);
+            }
+            try (Stream<Path> stream = Files.list(directory)) {
+                List<Path> files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+                long bytes = 0;
+                for (Path file : files) {
+                    bytes += Files.size(file);
+                }
+                return new DirectoryStats(files.size(), bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        DirectoryStats plus(DirectoryStats other) {
+            return new DirectoryStats(files + other.files, bytes + other.bytes);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("файлов %d, %.1f КБ", files, bytes / 1024.0);
+        }
+    }
+}
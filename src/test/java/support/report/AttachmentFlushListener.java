@@ -0,0 +1,18 @@
+package support.report;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Дожидается фоновой записи вложений Allure и материалов падений сразу после завершения плана тестов,
+ * не полагаясь только на shutdown hook.
+ * Подключается через META-INF/services/org.junit.platform.launcher.TestExecutionListener.
+ */
+public class AttachmentFlushListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        Attachments.flush();
+        FailureEvidence.flush();
+    }
+}
@@ -0,0 +1,31 @@
+package support.report;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import support.perf.PerfRun;
+
+import java.util.Locale;
+
+/**
+ * Печатает для каждого теста число файлов и параметров Allure и время, потраченное на вложения в потоке теста,
+ * и дописывает их в target/perf/attachments-&lt;прогон&gt;.tsv, чтобы сравнить режимы sync и async по тестам.
+ * Регистрируется первым в {@code @ExtendWith}: тогда учитываются и вложения остальных расширений.
+ */
+public class AttachmentMetricsExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        Attachments.resetTest();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        long[] test = Attachments.currentTest();
+        System.out.printf("📊 Вложения теста '%s' [%s]: файлов %d, параметров %d, на потоке теста %.1f мс%n",
+                context.getDisplayName(), Attachments.mode(), test[0], test[1], test[2] / 1e6);
+        PerfRun.appendLine("attachments", "tsv", String.join("\t", Attachments.mode(),
+                context.getUniqueId(), String.valueOf(test[0]), String.valueOf(test[1]),
+                String.format(Locale.ROOT, "%.3f", test[2] / 1e6)));
+    }
+}
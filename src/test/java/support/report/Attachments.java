@@ -0,0 +1,154 @@
+package support.report;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Parameter;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Запись вложений Allure.
+ * В режиме sync (по умолчанию) каждое значение пишется отдельным файлом на потоке теста, как Allure.addAttachment.
+ * В режиме async (-Dsauce.allure.attachments=async) короткие значения становятся параметрами текущего шага
+ * (вне шага — параметрами теста), а файлы регистрируются в результате теста сразу, но записываются на диск фоновым потоком.
+ */
+public final class Attachments {
+
+    private static final int PARAMETER_MAX_LENGTH = 120;
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    private static final boolean ASYNC = "async".equalsIgnoreCase(System.getProperty("sauce.allure.attachments", "sync"));
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "allure-attachment-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicLong FILES = new AtomicLong();
+    private static final AtomicLong PARAMETERS = new AtomicLong();
+    private static final AtomicLong CALLER_NANOS = new AtomicLong();
+
+    // Счётчики текущего теста: файлы, параметры, время на потоке теста в нс (см. AttachmentMetricsExtension)
+    private static final ThreadLocal<long[]> TEST = ThreadLocal.withInitial(() -> new long[3]);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            flush();
+            printSummary();
+        }, "allure-attachment-flush"));
+    }
+
+    private Attachments() {
+    }
+
+    /**
+     * Короткое текстовое значение: логин, URL, флаг "Да"/"Нет".
+     */
+    public static void text(String name, String value) {
+        long start = System.nanoTime();
+        try {
+            if (ASYNC && isShort(value)) {
+                addParameter(name, value);
+            } else {
+                write(name, "text/plain", ".txt", value);
+            }
+        } finally {
+            addCallerNanos(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Крупное вложение (таблица, JSON, гистограмма) — всегда отдельный файл.
+     */
+    public static void file(String name, String type, String fileExtension, String content) {
+        long start = System.nanoTime();
+        try {
+            write(name, type, fileExtension, content);
+        } finally {
+            addCallerNanos(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Дожидается записи всех поставленных в очередь файлов.
+     */
+    public static void flush() {
+        if (!ASYNC) {
+            return;
+        }
+        try {
+            WRITER.submit(() -> { }).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("Не удалось дождаться записи вложений Allure: " + e.getMessage());
+        }
+    }
+
+    static String mode() {
+        return ASYNC ? "async" : "sync";
+    }
+
+    static void resetTest() {
+        TEST.set(new long[3]);
+    }
+
+    /**
+     * Файлы, параметры и время в нс, записанные текущим потоком после {@link #resetTest()}.
+     */
+    static long[] currentTest() {
+        return TEST.get().clone();
+    }
+
+    private static void addCallerNanos(long nanos) {
+        CALLER_NANOS.addAndGet(nanos);
+        TEST.get()[2] += nanos;
+    }
+
+    private static void write(String name, String type, String fileExtension, String content) {
+        FILES.incrementAndGet();
+        TEST.get()[0]++;
+        if (!ASYNC) {
+            Allure.addAttachment(name, type, content, fileExtension);
+            return;
+        }
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(name, type, fileExtension);
+        byte[] bytes = content == null ? new byte[0] : content.getBytes(StandardCharsets.UTF_8);
+        WRITER.execute(() -> lifecycle.writeAttachment(source, new ByteArrayInputStream(bytes)));
+    }
+
+    private static void addParameter(String name, String value) {
+        PARAMETERS.incrementAndGet();
+        TEST.get()[1]++;
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        Optional<String> current = lifecycle.getCurrentTestCaseOrStep();
+        Parameter parameter = new Parameter().setName(name).setValue(value);
+        if (current.isPresent() && !current.equals(lifecycle.getCurrentTestCase())) {
+            lifecycle.updateStep(step -> step.getParameters().add(parameter));
+        } else {
+            // Вне шага — параметр теста: шаг с значением в имени давал бы BaselineStore новый ключ на каждом прогоне
+            lifecycle.updateTestCase(test -> test.getParameters().add(parameter));
+        }
+    }
+
+    private static boolean isShort(String value) {
+        return value != null && value.length() <= PARAMETER_MAX_LENGTH && value.indexOf('\n') < 0;
+    }
+
+    private static void printSummary() {
+        long calls = FILES.get() + PARAMETERS.get();
+        if (calls == 0) {
+            return;
+        }
+        System.out.printf("📊 Вложения Allure [%s]: файлов %d, параметров %d, "
+                        + "время на потоке тестов %.1f мс (%.1f мкс на вложение)%n",
+                mode(), FILES.get(), PARAMETERS.get(),
+                CALLER_NANOS.get() / 1e6, CALLER_NANOS.get() / 1e3 / calls);
+    }
+}
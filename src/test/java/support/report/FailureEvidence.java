@@ -0,0 +1,201 @@
+package support.report;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Материалы упавшего теста: скриншот, DOM и URL.
+ * На потоке теста только снимаются сырые байты и регистрируются вложения в результате Allure;
+ * перекодирование скриншота в JPEG и запись файлов выполняет фоновый поток.
+ * Очередь ограничена (-Dsauce.evidence.queue, по умолчанию 8): при переполнении поток теста ждёт
+ * (-Dsauce.evidence.overflow=block, по умолчанию) или материалы отбрасываются со счётчиком (drop).
+ * Консольные логи не собираются: geckodriver не поддерживает чтение логов браузера через WebDriver.
+ */
+public final class FailureEvidence {
+
+    private static final long FLUSH_TIMEOUT_SECONDS = 60;
+    private static final float JPEG_QUALITY = 0.75f;
+
+    private static final int CAPACITY = Integer.getInteger("sauce.evidence.queue", 8);
+    private static final boolean DROP_ON_OVERFLOW =
+            "drop".equalsIgnoreCase(System.getProperty("sauce.evidence.overflow", "block"));
+
+    private static final Semaphore SLOTS = new Semaphore(CAPACITY);
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "failure-evidence-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicLong CAPTURED = new AtomicLong();
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final AtomicLong CALLER_NANOS = new AtomicLong();
+    private static final AtomicLong BLOCKED_NANOS = new AtomicLong();
+    private static final AtomicLong PNG_BYTES = new AtomicLong();
+    private static final AtomicLong WRITTEN_BYTES = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            flush();
+            printSummary();
+        }, "failure-evidence-flush"));
+    }
+
+    private FailureEvidence() {
+    }
+
+    /**
+     * Снимает материалы с браузера и ставит их запись в очередь; вызывается на потоке упавшего теста.
+     */
+    public static void capture(WebDriver driver) {
+        long start = System.nanoTime();
+        try {
+            if (!acquireSlot()) {
+                DROPPED.incrementAndGet();
+                Attachments.text("Материалы падения", "Отброшены: очередь записи переполнена");
+                return;
+            }
+            boolean handedOff = false;
+            try {
+                byte[] screenshot = null;
+                String pageSource = null;
+                String url = null;
+                try {
+                    screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+                } catch (WebDriverException | ClassCastException e) {
+                    System.err.println("Скриншот при падении не снят: " + e.getMessage());
+                }
+                try {
+                    url = driver.getCurrentUrl();
+                    pageSource = driver.getPageSource();
+                } catch (WebDriverException e) {
+                    System.err.println("DOM при падении не снят: " + e.getMessage());
+                }
+
+                AllureLifecycle lifecycle = Allure.getLifecycle();
+                if (url != null) {
+                    Attachments.text("URL при падении", url);
+                }
+                String screenshotSource = screenshot == null
+                        ? null : lifecycle.prepareAttachment("Скриншот при падении", "image/jpeg", ".jpg");
+                String pageSourceSource = pageSource == null
+                        ? null : lifecycle.prepareAttachment("DOM при падении", "text/html", ".html");
+
+                byte[] png = screenshot;
+                byte[] html = pageSource == null ? null : pageSource.getBytes(StandardCharsets.UTF_8);
+                WRITER.execute(() -> {
+                    try {
+                        if (screenshotSource != null) {
+                            byte[] jpeg = toJpeg(png);
+                            PNG_BYTES.addAndGet(png.length);
+                            WRITTEN_BYTES.addAndGet(jpeg.length);
+                            lifecycle.writeAttachment(screenshotSource, new ByteArrayInputStream(jpeg));
+                        }
+                        if (pageSourceSource != null) {
+                            lifecycle.writeAttachment(pageSourceSource, new ByteArrayInputStream(html));
+                        }
+                    } finally {
+                        SLOTS.release();
+                    }
+                });
+                handedOff = true;
+                CAPTURED.incrementAndGet();
+            } finally {
+                if (!handedOff) {
+                    // Задача не попала к фоновому потоку (ошибка Allure или отказ очереди) — слот освобождаем здесь
+                    SLOTS.release();
+                }
+            }
+        } finally {
+            CALLER_NANOS.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Дожидается записи всех материалов из очереди.
+     */
+    public static void flush() {
+        try {
+            WRITER.submit(() -> { }).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("Не удалось дождаться записи материалов падения: " + e.getMessage());
+        }
+    }
+
+    private static boolean acquireSlot() {
+        if (DROP_ON_OVERFLOW) {
+            return SLOTS.tryAcquire();
+        }
+        long start = System.nanoTime();
+        try {
+            SLOTS.acquire();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            BLOCKED_NANOS.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * PNG из браузера без альфа-канала в JPEG. Вложение уже объявлено как image/jpeg, поэтому JPEG пишется всегда,
+     * даже если он вышел больше PNG (однотонные страницы); исходный PNG остаётся только при ошибке перекодирования.
+     */
+    private static byte[] toJpeg(byte[] png) {
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+            if (source == null) {
+                throw new IOException("формат скриншота не распознан");
+            }
+            BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+            rgb.createGraphics().drawImage(source, 0, 0, null);
+
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+                writer.setOutput(stream);
+                writer.write(null, new IIOImage(rgb, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            return out.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Скриншот при падении не перекодирован в JPEG, записан PNG: " + e.getMessage());
+            return png;
+        }
+    }
+
+    private static void printSummary() {
+        if (CAPTURED.get() == 0 && DROPPED.get() == 0) {
+            return;
+        }
+        System.out.printf("📊 Материалы падений: записано %d, отброшено %d, на потоке тестов %.1f мс "
+                        + "(из них ожидание очереди %.1f мс), скриншоты %d КБ PNG → %d КБ после сжатия%n",
+                CAPTURED.get(), DROPPED.get(), CALLER_NANOS.get() / 1e6, BLOCKED_NANOS.get() / 1e6,
+                PNG_BYTES.get() / 1024, WRITTEN_BYTES.get() / 1024);
+    }
+}
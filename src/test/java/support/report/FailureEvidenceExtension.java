@@ -0,0 +1,22 @@
+package support.report;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.openqa.selenium.WebDriver;
+import org.opentest4j.TestAbortedException;
+import support.DriverPool;
+
+/**
+ * При падении теста передаёт браузер текущего потока в {@link FailureEvidence} и пробрасывает исключение дальше.
+ */
+public class FailureEvidenceExtension implements TestExecutionExceptionHandler {
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        WebDriver driver = DriverPool.current();
+        if (driver != null && !(throwable instanceof TestAbortedException)) {
+            FailureEvidence.capture(driver);
+        }
+        throw throwable;
+    }
+}
@@ -0,0 +1,203 @@
+package support.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Локальная замена www.saucedemo.com для прогонов без интернета.
+ * Страницы логина и товаров используют те же id и классы, что и настоящий сайт,
+ * а проверка учётных данных повторяет его сообщения об ошибках.
+ */
+public final class SauceDemoStubServer {
+
+    public static final String SESSION_COOKIE = "session-username";
+    public static final String PASSWORD = "secret_sauce";
+
+    private static final List<String> USERS = List.of(
+            "standard_user", "locked_out_user", "problem_user",
+            "performance_glitch_user", "error_user", "visual_user");
+    private static final String LOCKED_OUT_USER = "locked_out_user";
+    private static final String PERFORMANCE_GLITCH_USER = "performance_glitch_user";
+
+    private static SauceDemoStubServer instance;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long glitchDelayMs;
+    private final byte[] loginPage;
+    private final byte[] inventoryPage;
+
+    private SauceDemoStubServer(int port, long glitchDelayMs) throws IOException {
+        this.glitchDelayMs = glitchDelayMs;
+        this.loginPage = readResource("/stub/login.html");
+        this.inventoryPage = readResource("/stub/inventory.html");
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "sauce-stub-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Запускает сервер при первом обращении; он работает до завершения JVM.
+     */
+    public static synchronized SauceDemoStubServer getInstance() {
+        if (instance == null) {
+            // Без TCP_NODELAY заголовки и тело ответа расходятся на два пакета и каждый ответ ждёт ~40 мс отложенного ACK
+            if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+                System.setProperty("sun.net.httpserver.nodelay", "true");
+            }
+            try {
+                instance = new SauceDemoStubServer(
+                        Integer.getInteger("sauce.stub.port", 0),
+                        Long.getLong("sauce.stub.glitchDelayMs", 2500));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось запустить локальный сервер SauceDemo", e);
+            }
+            SauceDemoStubServer started = instance;
+            Runtime.getRuntime().addShutdownHook(new Thread(started::stop, "sauce-stub-server-stop"));
+            System.out.println("✅ Локальный сервер SauceDemo запущен: " + started.getBaseUrl());
+        }
+        return instance;
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+
+            if ("POST".equals(method) && "/api/login".equals(path)) {
+                handleLogin(exchange);
+            } else if ("GET".equals(method) && ("/".equals(path) || "/index.html".equals(path))) {
+                send(exchange, 200, "text/html; charset=utf-8", loginPage);
+            } else if ("GET".equals(method) && "/inventory.html".equals(path)) {
+                handleInventory(exchange);
+            } else if ("GET".equals(method) && "/robots.txt".equals(path)) {
+                send(exchange, 200, "text/plain; charset=utf-8", "User-agent: *\n".getBytes(StandardCharsets.UTF_8));
+            } else {
+                send(exchange, 404, "text/plain; charset=utf-8", "Not found".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private void handleLogin(HttpExchange exchange) throws IOException {
+        Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        String username = form.getOrDefault("username", "");
+        String password = form.getOrDefault("password", "");
+
+        String error = checkCredentials(username, password);
+        if (error != null) {
+            sendJson(exchange, "{\"ok\":false,\"error\":\"" + error + "\"}");
+            return;
+        }
+
+        if (PERFORMANCE_GLITCH_USER.equals(username)) {
+            try {
+                Thread.sleep(glitchDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + username + "; Path=/");
+        sendJson(exchange, "{\"ok\":true}");
+    }
+
+    private void handleInventory(HttpExchange exchange) throws IOException {
+        String username = readSessionCookie(exchange);
+        if (username == null || !USERS.contains(username) || LOCKED_OUT_USER.equals(username)) {
+            String error = "Epic sadface: You can only access '/inventory.html' when you are logged in.";
+            exchange.getResponseHeaders().add("Location", "/?error=" + URLEncoder.encode(error, StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(302, -1);
+            return;
+        }
+        send(exchange, 200, "text/html; charset=utf-8", inventoryPage);
+    }
+
+    static String checkCredentials(String username, String password) {
+        if (username.isEmpty()) {
+            return "Epic sadface: Username is required";
+        }
+        if (password.isEmpty()) {
+            return "Epic sadface: Password is required";
+        }
+        if (!USERS.contains(username) || !PASSWORD.equals(password)) {
+            return "Epic sadface: Username and password do not match any user in this service";
+        }
+        if (LOCKED_OUT_USER.equals(username)) {
+            return "Epic sadface: Sorry, this user has been locked out.";
+        }
+        return null;
+    }
+
+    private static String readSessionCookie(HttpExchange exchange) {
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String cookie : header.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && SESSION_COOKIE.equals(pair[0])) {
+                    return pair[1];
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            String[] keyValue = pair.split("=", 2);
+            if (keyValue.length == 2) {
+                form.put(URLDecoder.decode(keyValue[0], StandardCharsets.UTF_8),
+                        URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static void sendJson(HttpExchange exchange, String json) throws IOException {
+        send(exchange, 200, "application/json; charset=utf-8", json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] readResource(String name) throws IOException {
+        try (InputStream in = SauceDemoStubServer.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("Ресурс не найден: " + name);
+            }
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package support.shard;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Длительности тестов из прошлых результатов Allure (*-result.json): по fullName (класс.метод)
+ * суммируются все результаты одного прогона (вызовы параметризованного теста), затем берётся медиана по прогонам.
+ */
+final class AllureDurations {
+
+    private AllureDurations() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Long> load(String directories) {
+        Json json = new Json();
+        Map<String, Map<String, Long>> perRun = new HashMap<>();
+        for (String name : directories.split(",")) {
+            Path directory = Paths.get(name.trim());
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*-result.json")) {
+                for (Path file : files) {
+                    Map<String, Object> result;
+                    try {
+                        result = json.toType(Files.readString(file, StandardCharsets.UTF_8), Map.class);
+                    } catch (JsonException | IOException e) {
+                        System.err.println("Результат Allure пропущен при планировании шардов: " + file + ": " + e.getMessage());
+                        continue;
+                    }
+                    Object fullName = result.get("fullName");
+                    if (fullName == null || !(result.get("start") instanceof Number) || !(result.get("stop") instanceof Number)) {
+                        continue;
+                    }
+                    long duration = ((Number) result.get("stop")).longValue() - ((Number) result.get("start")).longValue();
+                    perRun.computeIfAbsent(fullName.toString(), key -> new HashMap<>())
+                            .merge(directory + "/" + runOf(result), duration, Long::sum);
+                }
+            } catch (IOException e) {
+                System.err.println("Не удалось прочитать результаты Allure из " + directory + ": " + e.getMessage());
+            }
+        }
+
+        Map<String, Long> medians = new HashMap<>();
+        perRun.forEach((fullName, runs) -> {
+            List<Long> durations = new ArrayList<>(runs.values());
+            durations.sort(Long::compare);
+            medians.put(fullName, durations.get(durations.size() / 2));
+        });
+        return medians;
+    }
+
+    /**
+     * Прогон определяется по pid из метки thread ("14024@host.main(1)").
+     */
+    @SuppressWarnings("unchecked")
+    private static String runOf(Map<String, Object> result) {
+        for (Object label : (List<Object>) result.getOrDefault("labels", List.of())) {
+            Map<String, Object> pair = (Map<String, Object>) label;
+            if ("thread".equals(pair.get("name"))) {
+                return String.valueOf(pair.get("value")).split("@", 2)[0];
+            }
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,136 @@
+package support.shard;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import support.perf.PerfRun;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Оставляет в плане только тесты своего шарда: -Dsauce.shard.total=N -Dsauce.shard.index=0..N-1.
+ * Тесты раскладываются по ожидаемой длительности из прошлых результатов Allure
+ * (-Dsauce.shard.history, по умолчанию target/allure-results,allure-results); тестам без истории
+ * приписывается медиана известных. Подключается через META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter.
+ */
+public class DurationShardFilter implements PostDiscoveryFilter {
+
+    private static final long DEFAULT_TEST_MILLIS = 1000;
+
+    private static ShardPlan plan;
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        int total = total();
+        if (total <= 1) {
+            return FilterResult.included("шардирование выключено");
+        }
+        if (descriptor.isRoot() || !descriptor.getChildren().isEmpty()) {
+            return FilterResult.included("контейнер");
+        }
+        int index = index();
+        String testId = descriptor.getUniqueId().toString();
+        int shard = plan(total, index).shardOf(testId, Math.floorMod(testId.hashCode(), total));
+        return FilterResult.includedIf(shard == index,
+                () -> "шард " + shard,
+                () -> "шард " + shard + ", а запущен " + index);
+    }
+
+    /**
+     * Ожидаемая длительность этого шарда по плану, мс; -1, если план не строился.
+     */
+    static synchronized long plannedMillis() {
+        return plan == null ? -1 : plan.plannedMillis(index());
+    }
+
+    static int total() {
+        return Integer.getInteger("sauce.shard.total", 1);
+    }
+
+    static int index() {
+        int index = Integer.getInteger("sauce.shard.index", 0);
+        if (index < 0 || index >= total()) {
+            throw new IllegalArgumentException("sauce.shard.index должен быть от 0 до " + (total() - 1) + ": " + index);
+        }
+        return index;
+    }
+
+    /**
+     * Surefire запрашивает тесты по одному классу, поэтому план строится по отдельному обнаружению
+     * всех тестов из каталога тестовых классов — у всех шардов он получается одинаковым.
+     */
+    private static synchronized ShardPlan plan(int total, int index) {
+        if (plan != null) {
+            return plan;
+        }
+        Map<String, Long> history = AllureDurations.load(
+                System.getProperty("sauce.shard.history", "target/allure-results,allure-results"));
+        long fallback = history.isEmpty()
+                ? DEFAULT_TEST_MILLIS
+                : history.values().stream().sorted().skip(history.size() / 2).findFirst().orElse(DEFAULT_TEST_MILLIS);
+
+        Map<String, Long> weights = new LinkedHashMap<>();
+        int known = 0;
+        for (TestIdentifier test : discoverAllTests()) {
+            Long duration = history.get(fullName(test));
+            if (duration != null) {
+                known++;
+            }
+            weights.put(test.getUniqueId(), duration != null ? duration : fallback);
+        }
+
+        plan = ShardPlan.balance(weights, total);
+        String table = "План шардов (история есть для " + known + " из " + weights.size() + " тестов):"
+                + System.lineSeparator() + plan.toTable(index);
+        System.out.print("📊 " + table);
+        PerfRun.appendLine("shards", "txt", table.stripTrailing());
+        return plan;
+    }
+
+    private static List<TestIdentifier> discoverAllTests() {
+        Path testClasses;
+        try {
+            testClasses = Paths.get(DurationShardFilter.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Не удалось определить каталог тестовых классов", e);
+        }
+        Launcher launcher = LauncherFactory.create(LauncherConfig.builder()
+                .enablePostDiscoveryFilterAutoRegistration(false)
+                .enableTestExecutionListenerAutoRegistration(false)
+                .build());
+        TestPlan testPlan = launcher.discover(LauncherDiscoveryRequestBuilder.request()
+                .selectors(DiscoverySelectors.selectClasspathRoots(Set.of(testClasses)))
+                .build());
+
+        List<TestIdentifier> tests = new ArrayList<>();
+        for (TestIdentifier root : testPlan.getRoots()) {
+            for (TestIdentifier descendant : testPlan.getDescendants(root)) {
+                if (testPlan.getChildren(descendant).isEmpty()
+                        && descendant.getSource().orElse(null) instanceof MethodSource) {
+                    tests.add(descendant);
+                }
+            }
+        }
+        return tests;
+    }
+
+    private static String fullName(TestIdentifier test) {
+        MethodSource source = (MethodSource) test.getSource().orElseThrow();
+        return source.getClassName() + "." + source.getMethodName();
+    }
+}
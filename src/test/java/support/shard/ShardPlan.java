@@ -0,0 +1,68 @@
+package support.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Раскладка тестов по шардам жадным алгоритмом LPT: самые долгие тесты первыми,
+ * каждый в шард с наименьшей ожидаемой суммой. При одинаковой истории все шарды
+ * получают одинаковый план, поэтому каждый выбирает свою часть независимо.
+ */
+final class ShardPlan {
+
+    private final int total;
+    private final Map<String, Integer> shardOfTest = new HashMap<>();
+    private final long[] plannedMillis;
+    private final int[] testCounts;
+
+    private ShardPlan(int total) {
+        this.total = total;
+        this.plannedMillis = new long[total];
+        this.testCounts = new int[total];
+    }
+
+    /**
+     * @param weights ожидаемая длительность в мс по идентификатору теста
+     */
+    static ShardPlan balance(Map<String, Long> weights, int total) {
+        ShardPlan plan = new ShardPlan(total);
+        List<Map.Entry<String, Long>> tests = new ArrayList<>(weights.entrySet());
+        tests.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        for (Map.Entry<String, Long> test : tests) {
+            int lightest = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (plan.plannedMillis[shard] < plan.plannedMillis[lightest]) {
+                    lightest = shard;
+                }
+            }
+            plan.shardOfTest.put(test.getKey(), lightest);
+            plan.plannedMillis[lightest] += test.getValue();
+            plan.testCounts[lightest]++;
+        }
+        return plan;
+    }
+
+    /**
+     * Шард теста; для теста, которого не было при планировании, — fallback.
+     */
+    int shardOf(String testId, int fallback) {
+        return shardOfTest.getOrDefault(testId, fallback);
+    }
+
+    long plannedMillis(int shard) {
+        return plannedMillis[shard];
+    }
+
+    String toTable(int current) {
+        StringBuilder out = new StringBuilder();
+        for (int shard = 0; shard < total; shard++) {
+            out.append(String.format("%s шард %d/%d: %4d тестов, план %8.1f с%n",
+                    shard == current ? "→" : " ", shard, total, testCounts[shard], plannedMillis[shard] / 1000.0));
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,45 @@
+package support.shard;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+import support.perf.PerfRun;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Замеряет фактическое время шарда — от начала первого плана тестов до конца последнего
+ * (Surefire выполняет по плану на класс) — и при завершении JVM печатает его рядом с плановым
+ * и дописывает в target/perf/shards-&lt;прогон&gt;.txt.
+ * Подключается через META-INF/services/org.junit.platform.launcher.TestExecutionListener.
+ */
+public class ShardTimingListener implements TestExecutionListener {
+
+    private static final AtomicLong FIRST_START_NANOS = new AtomicLong();
+    private static final AtomicLong LAST_FINISH_NANOS = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ShardTimingListener::printSummary, "shard-timing-summary"));
+    }
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        FIRST_START_NANOS.compareAndSet(0, System.nanoTime());
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        LAST_FINISH_NANOS.set(System.nanoTime());
+    }
+
+    private static void printSummary() {
+        long planned = DurationShardFilter.plannedMillis();
+        if (planned < 0 || LAST_FINISH_NANOS.get() == 0) {
+            return;
+        }
+        String line = String.format("Шард %d/%d: план %.1f с, факт %.1f с",
+                DurationShardFilter.index(), DurationShardFilter.total(),
+                planned / 1000.0, (LAST_FINISH_NANOS.get() - FIRST_START_NANOS.get()) / 1e9);
+        System.out.println("📊 " + line);
+        PerfRun.appendLine("shards", "txt", line);
+    }
+}
@@ -0,0 +1,177 @@
+package support.wait;
+
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ожидание без опроса: внутри страницы ставится MutationObserver (плюс слушатели смены URL),
+ * и асинхронный скрипт возвращает управление, как только условие выполнено.
+ * Если скрипты недоступны, используется {@link PollingWaitEngine}; такие ожидания учитываются
+ * в {@link WaitStats} отдельно, как {@value #FALLBACK_STATS}. Некорректный CSS-селектор не приводит к переходу
+ * на опрос: бросается {@link InvalidSelectorException}, как и при поиске элемента через WebDriver.
+ */
+public class ObserverWaitEngine implements WaitEngine {
+
+    private static final String AWAIT_SCRIPT = """
+            var selectors = arguments[0], urlFragment = arguments[1], timeoutMs = arguments[2];
+            var done = arguments[arguments.length - 1];
+            for (var s = 0; s < selectors.length; s++) {
+                try {
+                    document.querySelector(selectors[s]);
+                } catch (e) {
+                    done({invalidSelector: selectors[s], message: String(e)});
+                    return;
+                }
+            }
+            function visible(el) {
+                return !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length)
+                    && window.getComputedStyle(el).visibility !== 'hidden';
+            }
+            function check() {
+                if (urlFragment !== null) {
+                    return location.href.indexOf(urlFragment) >= 0 ? 0 : -1;
+                }
+                for (var i = 0; i < selectors.length; i++) {
+                    var el = document.querySelector(selectors[i]);
+                    if (el && visible(el)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+            var found = check();
+            if (found >= 0) {
+                done(found);
+                return;
+            }
+            var finished = false, observer, timer;
+            function finish(index) {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                observer.disconnect();
+                clearTimeout(timer);
+                window.removeEventListener('popstate', onChange);
+                window.removeEventListener('hashchange', onChange);
+                done(index);
+            }
+            function onChange() {
+                var index = check();
+                if (index >= 0) {
+                    finish(index);
+                }
+            }
+            observer = new MutationObserver(onChange);
+            observer.observe(document.documentElement || document,
+                {childList: true, subtree: true, attributes: true});
+            window.addEventListener('popstate', onChange);
+            window.addEventListener('hashchange', onChange);
+            timer = setTimeout(function () { finish(-1); }, timeoutMs);
+            """;
+
+    static final String FALLBACK_STATS = "observer→polling";
+
+    // Подряд идущие ошибки скрипта, после которых движок переходит на опрос
+    private static final int MAX_SCRIPT_FAILURES = 5;
+
+    private final WebDriver driver;
+    private final PollingWaitEngine fallback;
+    private boolean scriptsUnavailable;
+    private int scriptFailures;
+    private Duration configuredScriptTimeout;
+
+    public ObserverWaitEngine(WebDriver driver) {
+        this.driver = driver;
+        this.fallback = new PollingWaitEngine(driver, FALLBACK_STATS);
+        this.scriptsUnavailable = !(driver instanceof JavascriptExecutor);
+    }
+
+    @Override
+    public int awaitAnyVisible(Duration timeout, String... cssSelectors) {
+        return await(Arrays.asList(cssSelectors), null, timeout);
+    }
+
+    @Override
+    public void awaitUrlContains(String fragment, Duration timeout) {
+        await(List.of(), fragment, timeout);
+    }
+
+    private int await(List<String> selectors, String urlFragment, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        int commands = 0;
+
+        try {
+            while (!scriptsUnavailable) {
+                long remainingMs = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMs <= 0) {
+                    break;
+                }
+                commands += ensureScriptTimeout(timeout);
+                try {
+                    commands++;
+                    Object result = ((JavascriptExecutor) driver)
+                            .executeAsyncScript(AWAIT_SCRIPT, selectors, urlFragment, remainingMs);
+                    scriptFailures = 0;
+                    if (result instanceof Map) {
+                        Map<?, ?> invalid = (Map<?, ?>) result;
+                        throw new InvalidSelectorException("Некорректный CSS-селектор '" + invalid.get("invalidSelector")
+                                + "': " + invalid.get("message"));
+                    }
+                    int index = ((Number) result).intValue();
+                    if (index >= 0) {
+                        return index;
+                    }
+                    break;
+                } catch (ScriptTimeoutException e) {
+                    break;
+                } catch (UnsupportedCommandException e) {
+                    scriptsUnavailable = true;
+                } catch (JavascriptException e) {
+                    // документ был выгружен навигацией — ставим наблюдатель заново на новой странице
+                    if (++scriptFailures > MAX_SCRIPT_FAILURES) {
+                        scriptsUnavailable = true;
+                    }
+                }
+            }
+        } finally {
+            if (!scriptsUnavailable) {
+                WaitStats.record("observer", commands, System.nanoTime() - start);
+            }
+        }
+
+        if (scriptsUnavailable) {
+            WaitStats.recordOverhead(FALLBACK_STATS, commands, System.nanoTime() - start);
+            WaitStats.recordFallback();
+            Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+            if (urlFragment != null) {
+                fallback.awaitUrlContains(urlFragment, remaining);
+                return 0;
+            }
+            return fallback.awaitAnyVisible(remaining, selectors.toArray(new String[0]));
+        }
+        throw new TimeoutException("Условие не выполнено за " + timeout.toMillis() + " мс: "
+                + (urlFragment != null ? "URL содержит '" + urlFragment + "'" : "видим один из " + selectors));
+    }
+
+    private int ensureScriptTimeout(Duration timeout) {
+        Duration required = timeout.plusSeconds(1);
+        if (configuredScriptTimeout != null && configuredScriptTimeout.compareTo(required) >= 0) {
+            return 0;
+        }
+        driver.manage().timeouts().scriptTimeout(required);
+        configuredScriptTimeout = required;
+        return 1;
+    }
+}
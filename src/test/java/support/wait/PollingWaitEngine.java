@@ -0,0 +1,66 @@
+package support.wait;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ожидание через WebDriverWait: опрос каждые 500 мс, по одному-два запроса WebDriver на селектор.
+ */
+public class PollingWaitEngine implements WaitEngine {
+
+    private final WebDriver driver;
+    private final String statsLabel;
+
+    public PollingWaitEngine(WebDriver driver) {
+        this(driver, "polling");
+    }
+
+    /**
+     * @param statsLabel под каким движком учитывать ожидания в {@link WaitStats}
+     */
+    PollingWaitEngine(WebDriver driver, String statsLabel) {
+        this.driver = driver;
+        this.statsLabel = statsLabel;
+    }
+
+    @Override
+    public int awaitAnyVisible(Duration timeout, String... cssSelectors) {
+        long start = System.nanoTime();
+        AtomicInteger commands = new AtomicInteger();
+        try {
+            return new WebDriverWait(driver, timeout).until(d -> {
+                for (int i = 0; i < cssSelectors.length; i++) {
+                    commands.incrementAndGet();
+                    for (WebElement element : d.findElements(By.cssSelector(cssSelectors[i]))) {
+                        commands.incrementAndGet();
+                        if (element.isDisplayed()) {
+                            return i;
+                        }
+                    }
+                }
+                return null;
+            });
+        } finally {
+            WaitStats.record(statsLabel, commands.get(), System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void awaitUrlContains(String fragment, Duration timeout) {
+        long start = System.nanoTime();
+        AtomicInteger commands = new AtomicInteger();
+        try {
+            new WebDriverWait(driver, timeout).until(d -> {
+                commands.incrementAndGet();
+                return d.getCurrentUrl().contains(fragment);
+            });
+        } finally {
+            WaitStats.record(statsLabel, commands.get(), System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package support.wait;
+
+import org.openqa.selenium.WebDriver;
+import support.TestConfig;
+
+import java.time.Duration;
+
+/**
+ * Стратегия ожидания состояния страницы.
+ * Селекторы передаются в CSS-синтаксисе, чтобы их можно было проверять и из Java, и внутри страницы.
+ */
+public interface WaitEngine {
+
+    /**
+     * Ждёт, пока станет видимым любой из элементов, и возвращает индекс первого найденного селектора.
+     *
+     * @throws org.openqa.selenium.TimeoutException если за отведённое время ничего не появилось
+     */
+    int awaitAnyVisible(Duration timeout, String... cssSelectors);
+
+    void awaitUrlContains(String fragment, Duration timeout);
+
+    static WaitEngine create(WebDriver driver) {
+        if ("observer".equalsIgnoreCase(TestConfig.waitEngine())) {
+            return new ObserverWaitEngine(driver);
+        }
+        return new PollingWaitEngine(driver);
+    }
+}
@@ -0,0 +1,65 @@
+package support.wait;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Счётчики ожиданий по движкам: количество ожиданий, запросов WebDriver и суммарное время.
+ */
+public final class WaitStats {
+
+    private static final Map<String, long[]> STATS = new ConcurrentHashMap<>();
+    private static final AtomicLong FALLBACKS = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(WaitStats::printSummary, "wait-stats-summary"));
+    }
+
+    private WaitStats() {
+    }
+
+    static void record(String engine, int commands, long elapsedNanos) {
+        long[] totals = STATS.computeIfAbsent(engine, k -> new long[3]);
+        synchronized (totals) {
+            totals[0]++;
+            totals[1] += commands;
+            totals[2] += elapsedNanos;
+        }
+    }
+
+    /**
+     * Запросы и время, потраченные до перехода на другой движок: добавляются к его ожиданию, не считаясь отдельным.
+     */
+    static void recordOverhead(String engine, int commands, long elapsedNanos) {
+        long[] totals = STATS.computeIfAbsent(engine, k -> new long[3]);
+        synchronized (totals) {
+            totals[1] += commands;
+            totals[2] += elapsedNanos;
+        }
+    }
+
+    static void recordFallback() {
+        FALLBACKS.incrementAndGet();
+    }
+
+    public static long commands(String engine) {
+        long[] totals = STATS.get(engine);
+        if (totals == null) {
+            return 0;
+        }
+        synchronized (totals) {
+            return totals[1];
+        }
+    }
+
+    private static void printSummary() {
+        new TreeMap<>(STATS).forEach((engine, totals) -> System.out.println("📊 Ожидания [" + engine + "]: "
+                + totals[0] + " шт., запросов WebDriver " + totals[1]
+                + ", суммарно " + totals[2] / 1_000_000 + " мс"));
+        if (FALLBACKS.get() > 0) {
+            System.out.println("⚠️ Переходов observer → polling: " + FALLBACKS.get());
+        }
+    }
+}